@@ -0,0 +1,64 @@
+package bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/*
+* AllocationCheck
+* Proves that the primitive AABB test allocates nothing. Runs
+* CollisionUtils.intersects on random pairs of boxes (about half of
+* which overlap) long enough for the JIT to compile it, then counts the
+* bytes the thread allocates over a million more tests. Any byte at all
+* fails the check, and with it the build (the pom runs this in the test
+* phase). Can also be run on its own:
+*   java -cp target/benchmarks.jar bench.AllocationCheck
+* */
+public class AllocationCheck {
+
+    private static final int BOXES = 1024;
+    private static final int WARMUP_TESTS = 5_000_000;
+    private static final int MEASURED_TESTS = 1_000_000;
+
+    private static final double[] boxX = new double[BOXES];
+    private static final double[] boxY = new double[BOXES];
+
+    // Consumes results so the tests can't be optimized away
+    private static int hits = 0;
+
+    public static void main(String[] args) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        Random random = new Random(42);
+        for (int i = 0; i < BOXES; i++) {
+            boxX[i] = random.nextDouble() * 150;
+            boxY[i] = random.nextDouble() * 150;
+        }
+
+        runTests(WARMUP_TESTS);
+
+        // Reading the counter itself must not be counted
+        long overhead = threads.getCurrentThreadAllocatedBytes();
+        overhead = threads.getCurrentThreadAllocatedBytes() - overhead;
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        runTests(MEASURED_TESTS);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before - overhead;
+
+        System.out.printf("CollisionUtils.intersects: %d bytes over %,d tests (%d hits)%n", allocated, MEASURED_TESTS, hits);
+        if (allocated > 0) {
+            System.err.println("CollisionUtils.intersects allocates; the collision hot path must allocate nothing");
+            System.exit(1);
+        }
+    }
+
+    private static void runTests(int count) {
+        for (int n = 0; n < count; n++) {
+            int a = n & (BOXES - 1);
+            int b = (n + 1) & (BOXES - 1);
+
+            if (CollisionUtils.intersects(boxX[a], boxY[a], 75, 75, boxX[b], boxY[b], 50, 50, 0)) {
+                hits++;
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+* BulletBenchmark
+* Cost of one tick of enemy bullets: moving and culling every bullet in
+* flight, then firing the next volleys. A row of enemies held still on
+* screen fire spirals non-stop; 60 of them keep over 5,000 bullets in
+* the air. Set up to steady state first, so the bullet store has already
+* grown to fit.
+* */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulletBenchmark {
+
+    @Param({"10", "60"})
+    public int turrets;
+
+    private World world;
+    private EntityStore bullets;
+    private long simulationNanos = 0;
+
+    @Setup
+    public void setUp() {
+        world = new World(new GameState(), new WorldListener() {}, 1);
+        world.start();
+
+        EntityStore enemies = world.getEnemies();
+        bullets = world.getEnemyProjectiles();
+
+        for (int i = 0; i < turrets; i++) {
+            int enemy = world.spawnZigzag(EntityType.ENEMY, 0, 15000, enemies);
+            enemies.x[enemy] = (i % 10) * 75;
+            enemies.y[enemy] = 40 + (i / 10) * 80;
+            enemies.pattern[enemy] = BulletPattern.SPIRAL;
+            enemies.emitterAngle[enemy] = i;
+        }
+
+        // Ten seconds of firing fills the screen
+        for (int i = 0; i < 1200; i++) {
+            tick();
+        }
+    }
+
+    @Benchmark
+    public int tick() {
+        simulationNanos += World.TICK_NANOS;
+
+        BulletEmitter.moveBullets(world);
+        bullets.removeDead();
+        BulletEmitter.update(world, simulationNanos / 1_000_000);
+        return bullets.size();
+    }
+}
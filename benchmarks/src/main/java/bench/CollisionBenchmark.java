@@ -0,0 +1,56 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+* CollisionBenchmark
+* One full CollisionManager pass at different entity counts. The world is laid out so that nothing actually collides: every
+* projectile shares broadphase cells with enemies but misses them, and
+* the player is out of reach. Each call then does identical work, which
+* is the common case during play.
+* */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+    // Number of enemies and of each kind of projectile
+    @Param({"10", "100", "1000"})
+    public int entityCount;
+
+    private World world;
+
+    @Setup
+    public void setUp() {
+        world = new World(new GameState(), new WorldListener() {});
+        world.start();
+
+        // Player at the bottom left, clear of everything below
+        world.getPlayer().place(0, World.HEIGHT - 75, 75, 75);
+
+        EntityStore enemies = world.getEnemies();
+        EntityStore enemyProjectiles = world.getEnemyProjectiles();
+        EntityStore playerProjectiles = world.getPlayerProjectiles();
+
+        for (int i = 0; i < entityCount; i++) {
+
+            // Enemies on a grid in the top 600 px, projectiles just to the right of each enemy
+            double x = 100 + (i % 8) * 80;
+            double y = (i / 8 % 8) * 75;
+            enemies.add(EntityType.ENEMY, x, y);
+            playerProjectiles.add(EntityType.PLAYER_PROJECTILE, x + 76, y);
+            enemyProjectiles.add(EntityType.ENEMY_PROJECTILE, x + 76, y + 300);
+        }
+    }
+
+    @Benchmark
+    public int collisionUpdate() {
+        CollisionManager.update(world, world.getSimulationMillis());
+        return world.getState().score;
+    }
+}
@@ -0,0 +1,51 @@
+package bench;
+
+/*
+* CollisionMaskCheck
+* Checks the pixel masks the simulation collides with. Every entity type
+* must have a mask built from its sprite, a player and an enemy whose
+* rectangles only meet at their transparent corners must not collide,
+* and masks offset across 64-pixel word boundaries must line up bit for
+* bit. Any failure fails the build (the pom runs this in the test phase).
+* Can also be run on its own:
+*   java -cp target/benchmarks.jar bench.CollisionMaskCheck
+* */
+public class CollisionMaskCheck {
+
+    private static int failures = 0;
+
+    public static void main(String[] args) {
+        for (EntityType type : EntityType.values()) {
+            double coverage = CollisionMask.forType(type).coverage();
+            System.out.printf("%-17s mask coverage %.2f%n", type, coverage);
+            check(coverage > 0 && coverage < 1, type + " mask should be partly transparent");
+        }
+
+        // Rectangles overlap by 5 px at the corner, where both sprites are transparent
+        check(CollisionUtils.intersects(0, 0, 75, 75, 70, 70, 75, 75, 0), "corner rectangles should overlap");
+        check(!CollisionMask.overlaps(EntityType.PLAYER, 0, 0, EntityType.ENEMY, 70, 70), "corner contact should miss");
+        check(CollisionMask.overlaps(EntityType.PLAYER, 0, 0, EntityType.ENEMY, 10, 10), "centre contact should hit");
+
+        // One solid pixel each, in the third word of a row and the first word of the next row down
+        CollisionMask wide = new CollisionMask(130, 3);
+        wide.set(129, 1);
+        CollisionMask narrow = new CollisionMask(70, 3);
+        narrow.set(3, 2);
+        check(wide.overlaps(narrow, 126, -1), "pixels across a word boundary should meet");
+        check(!wide.overlaps(narrow, 125, -1), "pixels one column apart should miss");
+        check(narrow.overlaps(wide, -126, 1), "overlap should not depend on which mask tests");
+        check(!wide.overlaps(narrow, 130, 0), "masks side by side should miss");
+
+        if (failures > 0) {
+            System.err.println(failures + " collision mask check(s) failed");
+            System.exit(1);
+        }
+    }
+
+    private static void check(boolean passed, String message) {
+        if (!passed) {
+            System.err.println("FAILED: " + message);
+            failures++;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package bench;
+
+/*
+* CollisionMatrixCheck
+* Checks that a pair registered in one order can be looked up in the
+* other, as the collision passes do: the player pass always asks for
+* (PLAYER, type) and the enemy pass for (type, ENEMY). A pair registered
+* with the types the other way round must still find a handler, get the
+* entities handed over in registration order, and keep its pixel flag.
+* Any failure fails the build (the pom runs this in the test phase).
+* Can also be run on its own:
+*   java -cp target/benchmarks.jar bench.CollisionMatrixCheck
+* */
+public class CollisionMatrixCheck {
+
+    private static int failures = 0;
+
+    // Arguments the registered handler last received
+    private static EntityStore receivedFirstStore;
+    private static int receivedFirst;
+    private static EntityStore receivedSecondStore;
+    private static int receivedSecond;
+
+    public static void main(String[] args) {
+        CollisionMatrix matrix = new CollisionMatrix();
+        matrix.register(EntityType.ENEMY, EntityType.PLAYER, (world, firstStore, first, secondStore, second, now) -> {
+            receivedFirstStore = firstStore;
+            receivedFirst = first;
+            receivedSecondStore = secondStore;
+            receivedSecond = second;
+        }, true);
+        matrix.register(EntityType.ENEMY, EntityType.PLAYER_PROJECTILE, (world, firstStore, first, secondStore, second, now) -> {});
+
+        check(matrix.canCollide(EntityType.PLAYER, EntityType.Category.ENEMY), "player mask should include enemies");
+        check(matrix.canCollide(EntityType.ENEMY, EntityType.Category.PLAYER), "enemy mask should include the player");
+
+        CollisionMatrix.ContactHandler reversed = matrix.handler(EntityType.PLAYER, EntityType.ENEMY);
+        check(reversed != null, "reversed pair should have a handler");
+        check(matrix.isPixelAccurate(EntityType.PLAYER, EntityType.ENEMY), "reversed pair should stay pixel-accurate");
+        check(matrix.handler(EntityType.PLAYER_PROJECTILE, EntityType.ENEMY) != null, "projectile pass lookup should find its handler");
+        check(matrix.handler(EntityType.PLAYER, EntityType.SALT) == null, "unregistered pair should have no handler");
+
+        // The player pass hands over (no store, -1) first; the handler must see the enemy first
+        EntityStore enemies = new EntityStore(0, 4);
+        if (reversed != null) {
+            reversed.contact(null, null, -1, enemies, 3, 0);
+            check(receivedFirstStore == enemies && receivedFirst == 3, "enemy should arrive as the first entity");
+            check(receivedSecondStore == null && receivedSecond == -1, "player should arrive as the second entity");
+        }
+
+        if (failures > 0) {
+            System.err.println(failures + " collision matrix check(s) failed");
+            System.exit(1);
+        }
+        System.out.println("CollisionMatrix: reversed registrations resolve in both orders");
+    }
+
+    private static void check(boolean passed, String message) {
+        if (!passed) {
+            System.err.println("FAILED: " + message);
+            failures++;
+        }
+    }
+}
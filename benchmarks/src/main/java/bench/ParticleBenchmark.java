@@ -0,0 +1,44 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+* ParticleBenchmark
+* Cost of one particle tick: moving, ageing and culling a full buffer,
+* refilled with explosion-sized bursts as particles expire.
+* */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParticleBenchmark {
+
+    @Param({"256", "4096"})
+    public int particleCount;
+
+    private ParticleSystem particles;
+
+    @Setup
+    public void setUp() {
+        particles = new ParticleSystem(particleCount, particleCount);
+        refill();
+    }
+
+    @Benchmark
+    public int tick() {
+        refill();
+        particles.update(World.TICK_SECONDS);
+        return particles.size();
+    }
+
+    private void refill() {
+        particles.beginFrame();
+        while (particles.size() + 64 <= particleCount) {
+            particles.burst(384, 512, 64, 260, 0.5, 6, 0);
+        }
+    }
+}
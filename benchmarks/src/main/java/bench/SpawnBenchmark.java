@@ -0,0 +1,49 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+* SpawnBenchmark
+* Cost of spawning one enemy: adding it to the store, building its zigzag
+* path and placing it on the path's first point. Enemies are spawned in
+* batches and then removed, so the store never grows.
+* */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpawnBenchmark {
+
+    private static final int BATCH = 64;
+
+    private World world;
+    private EntityStore enemies;
+
+    @Setup
+    public void setUp() {
+        world = new World(new GameState(), new WorldListener() {});
+        world.start();
+        enemies = world.getEnemies();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int spawnEnemy() {
+        long now = world.getSimulationMillis();
+
+        for (int i = 0; i < BATCH; i++) {
+            world.spawnZigzag(EntityType.ENEMY, now, 15000, enemies);
+        }
+
+        int spawned = enemies.size();
+        for (int i = 0; i < spawned; i++) {
+            world.removeEntity(enemies, i);
+        }
+        enemies.removeDead();
+        return spawned;
+    }
+}
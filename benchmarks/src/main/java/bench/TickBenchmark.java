@@ -0,0 +1,51 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+* TickBenchmark
+* One full simulation tick in the middle of a game: movement, spawning,
+* firing, power-ups, collisions and cleanup. An autopilot holds fire and
+* sweeps the player back and forth, as in HeadlessSimulation, and a new
+* game starts after each game over.
+* */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark {
+
+    private World world;
+
+    @Setup
+    public void setUp() {
+        world = new World(new GameState(), new WorldListener() {});
+        world.start();
+        world.setFiring(true);
+
+        // Play a simulated minute first so the screen is busy
+        for (int i = 0; i < 120 * 60; i++) {
+            tick();
+        }
+    }
+
+    @Benchmark
+    public int tick() {
+
+        // Change direction every two simulated seconds
+        boolean left = (world.getSimulationMillis() / 2000) % 2 == 0;
+        world.setMoveLeft(left);
+        world.setMoveRight(!left);
+
+        world.tick();
+
+        if (!world.isRunning()) {
+            world.reset();
+        }
+        return world.getEnemies().size();
+    }
+}
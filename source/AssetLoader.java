@@ -0,0 +1,223 @@
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.media.AudioClip;
+import javafx.scene.text.Font;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+/*
+* AssetLoader
+* Loads every asset listed in the asset manifest in parallel before the
+* title screen, so no image decode or audio load happens during play.
+* Assets are decoded on worker threads and handed to ImageCache and
+* SoundManager on the JavaFX thread as each one finishes. Logs how long
+* each asset took and the total startup time.
+* Every asset is required: if any is missing or can't be decoded, loading
+* ends with a message naming it instead of starting the game with gaps.
+* */
+public class AssetLoader {
+
+    public static final String MANIFEST = "/assets/asset_manifest.txt";
+
+    private static final int THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    // One manifest entry and, once loaded, its result and timing
+    private static class Asset {
+        final String type;
+        final String path;
+        final double fontSize;
+        Object loaded;
+        long loadNanos;
+        String error;
+
+        Asset(String type, String path, double fontSize) {
+            this.type = type;
+            this.path = path;
+            this.fontSize = fontSize;
+        }
+    }
+
+    private final List<Asset> assets;
+    private final Map<String, Font> fonts = new HashMap<>();
+    private int completed = 0;
+    private long startNanos;
+
+    public AssetLoader() throws IOException {
+        this.assets = readManifest();
+    }
+
+    /*
+    * Starts loading on worker threads. 'onProgress' receives the fraction
+    * loaded (0 to 1) and 'onDone' runs once everything is in place. If any
+    * asset failed, 'onFailure' receives a message naming each one instead
+    * of 'onDone' running. All three are called on the JavaFX thread.
+    * */
+    public void start(DoubleConsumer onProgress, Runnable onDone, Consumer<String> onFailure) {
+        startNanos = System.nanoTime();
+
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "asset-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (Asset asset : assets) {
+            workers.execute(() -> {
+                load(asset);
+                Platform.runLater(() -> {
+                    register(asset);
+                    completed++;
+                    onProgress.accept((double) completed / assets.size());
+
+                    if (completed == assets.size()) {
+                        workers.shutdown();
+                        printReport();
+                        finish(onDone, onFailure);
+                    }
+                });
+            });
+        }
+    }
+
+    /*
+    * Runs on a worker thread.
+    * */
+    private static void load(Asset asset) {
+        long start = System.nanoTime();
+
+        try {
+            URL resource = AssetLoader.class.getResource(asset.path);
+            if (resource == null) {
+                throw new IllegalStateException("not on the classpath");
+            }
+            String url = resource.toExternalForm();
+
+            asset.loaded = switch (asset.type) {
+                case "image" -> new Image(url);
+                case "sound" -> new AudioClip(url);
+                case "font" -> Font.loadFont(url, asset.fontSize);
+                default -> throw new IllegalArgumentException("unknown asset type " + asset.type);
+            };
+
+            // Fonts and images report a file they can't decode rather than throw
+            if (asset.loaded == null) {
+                throw new IllegalStateException("not a readable font");
+            }
+            if (asset.loaded instanceof Image image && image.isError()) {
+                throw new IllegalStateException("not a readable image: " + image.getException());
+            }
+        } catch (RuntimeException | LinkageError e) {
+
+            // Linkage errors come from missing native media or font libraries; report them too, or loading never ends
+            asset.loaded = null;
+            asset.error = (e instanceof IllegalStateException) ? e.getMessage() : e.toString();
+        }
+        asset.loadNanos = System.nanoTime() - start;
+    }
+
+    /*
+    * Runs on the JavaFX thread.
+    * */
+    private void register(Asset asset) {
+        if (asset.loaded instanceof Image image) {
+            ImageCache.put(asset.path, image);
+        } else if (asset.loaded instanceof AudioClip clip) {
+            SoundManager.put(asset.path, clip);
+        } else if (asset.loaded instanceof Font font) {
+            fonts.put(asset.path, font);
+        }
+    }
+
+    /*
+    * Hands over to the game, or reports every asset that failed.
+    * */
+    private void finish(Runnable onDone, Consumer<String> onFailure) {
+        StringBuilder failures = new StringBuilder();
+
+        for (Asset asset : assets) {
+            if (asset.error != null) {
+                failures.append(failures.isEmpty() ? "" : "\n").append(asset.path).append(": ").append(asset.error);
+            }
+        }
+
+        if (failures.isEmpty()) {
+            onDone.run();
+        } else {
+            onFailure.accept(failures.toString());
+        }
+    }
+
+    /*
+    * Returns a font from the manifest.
+    * */
+    public Font getFont(String path) {
+        Font font = fonts.get(path);
+        if (font == null) {
+            throw new IllegalArgumentException("Font " + path + " is not in the asset manifest");
+        }
+        return font;
+    }
+
+    private void printReport() {
+        double totalMillis = (System.nanoTime() - startNanos) / 1_000_000.0;
+        long summedNanos = 0;
+
+        System.out.println("Asset loading (" + THREADS + " threads):");
+
+        List<Asset> slowestFirst = new ArrayList<>(assets);
+        slowestFirst.sort(Comparator.comparingLong((Asset asset) -> asset.loadNanos).reversed());
+
+        for (Asset asset : slowestFirst) {
+            summedNanos += asset.loadNanos;
+            System.out.printf("  %8.1f ms  %-5s  %s%s%n",
+                    asset.loadNanos / 1_000_000.0, asset.type, asset.path,
+                    (asset.error != null) ? "  FAILED: " + asset.error : "");
+        }
+
+        System.out.printf("  %8.1f ms  total (%.1f ms of loading across threads)%n", totalMillis, summedNanos / 1_000_000.0);
+    }
+
+    private static List<Asset> readManifest() throws IOException {
+        List<Asset> assets = new ArrayList<>();
+
+        InputStream manifest = AssetLoader.class.getResourceAsStream(MANIFEST);
+        if (manifest == null) {
+            throw new IOException("Asset manifest " + MANIFEST + " is not on the classpath");
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(manifest, StandardCharsets.UTF_8))) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+
+                // Skip blank lines and comments
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                String[] fields = line.split("\\s+");
+                if (fields.length < 2) {
+                    throw new IOException("Asset manifest line needs a type and a path: " + line);
+                }
+                double fontSize = (fields.length > 2) ? Double.parseDouble(fields[2]) : 0;
+                assets.add(new Asset(fields[0], fields[1], fontSize));
+            }
+        }
+        return assets;
+    }
+}
@@ -0,0 +1,211 @@
+import java.util.Arrays;
+
+/*
+* AudioMixer
+* Sits between sound requests and the audio backend so a busy screen
+* can't flood it. Requests made during a frame are queued and mixed once
+* per frame:
+* - Identical sounds requested in the same frame are merged into one play
+* - Each sound has a limit on how many copies can play at once; a new
+*   request past the limit takes over that sound's oldest voice
+* - At most MAX_VOICES sounds play at once in total
+* - When all voices are busy, a sound may steal a voice from a sound of
+*   lower priority (e.g. game over beats a blaster)
+* AudioClip doesn't report when an instance finishes, so a voice counts
+* as busy for the audible start of its sound, not the whole clip: the
+* explosion clip runs for 8 s but is mostly a quiet tail. Taking over a
+* voice leaves the old play to fade out. Stealing stops the victim's
+* clip, which frees all of that sound's voices at once.
+* Player hits have their own clip and a priority only game over beats,
+* so the player always hears being hit.
+* */
+public class AudioMixer {
+
+    private static final int MAX_VOICES = 10;
+
+    private static final SoundEffect[] EFFECTS = SoundEffect.values();
+
+    // Mixing rules per sound, indexed by SoundEffect ordinal
+    private static final int[] PRIORITY = new int[EFFECTS.length];
+    private static final int[] MAX_INSTANCES = new int[EFFECTS.length];
+    private static final long[] AUDIBLE_NANOS = new long[EFFECTS.length];
+
+    static {
+        rule(SoundEffect.ENEMY_BLASTER, 0, 4, 250);
+        rule(SoundEffect.BLASTER, 1, 3, 300);
+        rule(SoundEffect.EXPLOSION, 2, 4, 600);
+        rule(SoundEffect.POWER_UP, 3, 1, 500);
+        rule(SoundEffect.GAME_START, 4, 1, 1010);
+        rule(SoundEffect.PLAYER_HIT, 5, 1, 600);
+        rule(SoundEffect.GAME_OVER, 6, 1, 1390);
+    }
+
+    // Sounds requested since the last mix, one flag per sound
+    private static final boolean[] requested = new boolean[EFFECTS.length];
+
+    // Sounds ordered by priority, highest first, so they get voices first
+    private static final SoundEffect[] BY_PRIORITY = EFFECTS.clone();
+
+    static {
+        Arrays.sort(BY_PRIORITY, (a, b) -> PRIORITY[b.ordinal()] - PRIORITY[a.ordinal()]);
+    }
+
+    // Busy voices: which sound each plays and when it finishes
+    private static final SoundEffect[] voiceEffect = new SoundEffect[MAX_VOICES];
+    private static final long[] voiceEndNanos = new long[MAX_VOICES];
+
+    // Statistics
+    private static long requests = 0;
+    private static long played = 0;
+    private static long merged = 0;     // Requests folded into another play of the same sound
+    private static long restarted = 0;  // Requests that took over their own sound's oldest voice
+    private static long dropped = 0;    // Requests that found no voice at all
+    private static long stolen = 0;     // Voices taken over by a higher-priority sound
+
+    private static void rule(SoundEffect effect, int priority, int maxInstances, long audibleMillis) {
+        PRIORITY[effect.ordinal()] = priority;
+        MAX_INSTANCES[effect.ordinal()] = maxInstances;
+        AUDIBLE_NANOS[effect.ordinal()] = audibleMillis * 1_000_000L;
+    }
+
+    /*
+    * Queues a sound to be played at the next mix.
+    * */
+    public static void request(SoundEffect effect) {
+        requests++;
+
+        if (requested[effect.ordinal()]) {
+            merged++;
+        } else {
+            requested[effect.ordinal()] = true;
+        }
+    }
+
+    /*
+    * Plays this frame's queued sounds. Called once per frame with the
+    * master clock time.
+    * */
+    public static void mix(long frameNanos) {
+        freeFinishedVoices(frameNanos);
+
+        for (SoundEffect effect : BY_PRIORITY) {
+            if (!requested[effect.ordinal()]) {
+                continue;
+            }
+            requested[effect.ordinal()] = false;
+
+            int voice;
+            if (countVoices(effect) >= MAX_INSTANCES[effect.ordinal()]) {
+                voice = oldestVoice(effect);
+                restarted++;
+            } else {
+                voice = freeVoice();
+            }
+            if (voice < 0) {
+                voice = stealVoice(PRIORITY[effect.ordinal()]);
+            }
+            if (voice < 0) {
+                dropped++;
+                continue;
+            }
+
+            voiceEffect[voice] = effect;
+            voiceEndNanos[voice] = frameNanos + AUDIBLE_NANOS[effect.ordinal()];
+            SoundManager.playClip(effect);
+            played++;
+        }
+    }
+
+    private static void freeFinishedVoices(long frameNanos) {
+        for (int i = 0; i < MAX_VOICES; i++) {
+            if (voiceEffect[i] != null && frameNanos >= voiceEndNanos[i]) {
+                voiceEffect[i] = null;
+            }
+        }
+    }
+
+    private static int countVoices(SoundEffect effect) {
+        int count = 0;
+        for (int i = 0; i < MAX_VOICES; i++) {
+            if (voiceEffect[i] == effect) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /*
+    * The voice of the given sound that finishes first.
+    * */
+    private static int oldestVoice(SoundEffect effect) {
+        int oldest = -1;
+        for (int i = 0; i < MAX_VOICES; i++) {
+            if (voiceEffect[i] == effect && (oldest < 0 || voiceEndNanos[i] < voiceEndNanos[oldest])) {
+                oldest = i;
+            }
+        }
+        return oldest;
+    }
+
+    private static int freeVoice() {
+        for (int i = 0; i < MAX_VOICES; i++) {
+            if (voiceEffect[i] == null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /*
+    * Stops the lowest-priority sound below the given priority and returns
+    * one of the voices it freed, or -1 if every voice is at least as important.
+    * */
+    private static int stealVoice(int priority) {
+        SoundEffect victim = null;
+
+        for (int i = 0; i < MAX_VOICES; i++) {
+            SoundEffect effect = voiceEffect[i];
+
+            if (PRIORITY[effect.ordinal()] < priority
+                    && (victim == null || PRIORITY[effect.ordinal()] < PRIORITY[victim.ordinal()])) {
+                victim = effect;
+            }
+        }
+
+        if (victim == null) {
+            return -1;
+        }
+
+        SoundManager.stopClip(victim);
+
+        int freed = -1;
+        for (int i = 0; i < MAX_VOICES; i++) {
+            if (voiceEffect[i] == victim) {
+                voiceEffect[i] = null;
+                freed = i;
+                stolen++;
+            }
+        }
+        return freed;
+    }
+
+    /*
+    * Summary of mixer statistics.
+    * */
+    public static String getStats() {
+        return "requests=" + requests
+                + " played=" + played
+                + " merged=" + merged
+                + " restarted=" + restarted
+                + " dropped=" + dropped
+                + " stolen=" + stolen;
+    }
+
+    public static long getMerged() {
+        return merged;
+    }
+
+    public static long getDropped() {
+        return dropped;
+    }
+}
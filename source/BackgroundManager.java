@@ -1,10 +1,7 @@
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.scene.Group;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
-import javafx.util.Duration;
 
 /*
 * BackgroundManager
@@ -14,25 +11,33 @@ import javafx.util.Duration;
 * creating the illusion of infinite scrolling.
 * */
 public class BackgroundManager {
-    private final Pane gamePane;            // The main pane backgrounds are rendered onto
+    private final Pane gamePane;            // The main pane, whose size the backgrounds fill
     private final ImageView background1;    // First background image
     private final ImageView background2;    // Second background image, used for seamless looping
 
+    // Scrolling speed in pixels per second (2 px every 16 ms)
+    private static final double SCROLL_SPEED = 125;
+
+    // Simulated scroll position of the first background, wrapped to the pane height
+    private double scrollOffset = 0;
+    private double previousScrollOffset = 0;
+
     /*
     * Constructs the BackGroundManager and initializes the background images
+    * on the given layer
     * */
-    public BackgroundManager(Pane gamePane) {
+    public BackgroundManager(Pane gamePane, Group layer) {
         this.gamePane = gamePane;
 
         // Load the background image from the resources folder
-        Image backgroundImage = new Image(getClass().getResource("/assets/background/background_image.png").toExternalForm());
+        Image backgroundImage = ImageCache.get("/assets/background/background_image.png");
 
         // Create two ImageViews using the same image
         this.background1 = new ImageView(backgroundImage);
         this.background2 = new ImageView(backgroundImage);
 
         setupBackground();                                          // Configure sizing and initial positions
-        gamePane.getChildren().addAll(background1, background2);    // Add backgrounds to the pane in order
+        layer.getChildren().addAll(background1, background2);       // Add backgrounds to the layer in order
     }
 
     /*
@@ -53,32 +58,31 @@ public class BackgroundManager {
     }
 
     /*
-    * Starts the background scrolling animation.
-    * A Timeline updates the background positions at 60 FPS.
-    * When one background scrolls off-screen, it is repositioned
-    * above the other to maintain continuos scrolling
+    * Advances the background scrolling by one simulation tick.
+    * The second background always sits directly above the first, so once
+    * the first has scrolled a full screen both wrap back together.
     * */
-    public void startScrolling() {
+    public void update(double deltaSeconds) {
+        double paneHeight = gamePane.getHeight();
 
-        // Timelline running at 60 FPS (16 ms per frame)
-        Timeline timeline = new Timeline(new KeyFrame(Duration.millis(16), e -> {
-            double paneHeight = gamePane.getHeight();
+        // Move both backgrounds downward by a fixed speed
+        previousScrollOffset = scrollOffset;
+        scrollOffset += SCROLL_SPEED * deltaSeconds;
 
-            // Move both backgrounds downward by a fixed speed
-            background1.setY(background1.getY() + 2);
-            background2.setY(background2.getY() + 2);
+        // Repositioning logic used for both backgrounds
+        if (paneHeight > 0 && scrollOffset >= paneHeight) {
+            scrollOffset -= paneHeight;
+            previousScrollOffset -= paneHeight;
+        }
+    }
 
-            // Repositioning logic used for both backgrounds
-            if (background1.getY() >= paneHeight) {
-                background1.setY(background2.getY() - paneHeight);
-            }
-            if (background2.getY() >= paneHeight) {
-                background2.setY(background1.getY() - paneHeight);
-            }
-        }));
+    /*
+    * Places both backgrounds between the previous and current scroll position.
+    * */
+    public void render(double alpha) {
+        double offset = previousScrollOffset + (scrollOffset - previousScrollOffset) * alpha;
 
-        // Run the animation forever
-        timeline.setCycleCount(Animation.INDEFINITE);
-        timeline.play();
+        background1.setY(offset);
+        background2.setY(offset - gamePane.getHeight());
     }
 }
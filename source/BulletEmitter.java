@@ -0,0 +1,93 @@
+
+/*
+* BulletEmitter
+* Fires every enemy's BulletPattern and moves every enemy bullet.
+* Bullets live in the World's enemy projectile store, which swap-removes
+* and reuses its slots, so once it has grown to the busiest moment of a
+* game firing a volley allocates nothing. Bullets fly in straight lines
+* and are moved and culled in a single pass per tick.
+* Works purely on the headless World, like CollisionManager.
+* */
+public class BulletEmitter {
+
+    // Straight down, the direction of unaimed volleys before any spin
+    private static final double DOWN = Math.PI / 2;
+
+    private static final double FULL_TURN = 2 * Math.PI;
+
+    /*
+    * Fires a volley from every on-screen enemy whose cooldown has elapsed.
+    * */
+    public static void update(World world, long now) {
+        EntityStore enemies = world.getEnemies();
+        boolean fired = false;
+
+        for (int i = 0; i < enemies.size(); i++) {
+            BulletPattern pattern = enemies.pattern[i];
+
+            if (pattern == null || now - enemies.timeSinceLastFired[i] < pattern.cooldownMillis) {
+                continue;
+            }
+
+            // Fire from the bottom center of the enemy, and never while off-screen
+            double muzzleX = enemies.centerX(i);
+            double muzzleY = enemies.maxY(i);
+
+            if (muzzleY > 0 && muzzleY < World.HEIGHT) {
+                fireVolley(world, pattern, i, muzzleX, muzzleY);
+                enemies.timeSinceLastFired[i] = now;
+                fired = true;
+            }
+        }
+
+        // One sound per tick however many enemies fired; the mixer merges them anyway
+        if (fired) {
+            world.getListener().playSound(SoundEffect.ENEMY_BLASTER);
+        }
+    }
+
+    /*
+    * Moves every enemy bullet one tick along its velocity and removes
+    * the ones that have left the play field.
+    * */
+    public static void moveBullets(World world) {
+        EntityStore bullets = world.getEnemyProjectiles();
+
+        for (int i = 0; i < bullets.size(); i++) {
+            bullets.previousX[i] = bullets.x[i];
+            bullets.previousY[i] = bullets.y[i];
+            bullets.x[i] += bullets.velocityX[i] * World.TICK_SECONDS;
+            bullets.y[i] += bullets.velocityY[i] * World.TICK_SECONDS;
+
+            if (bullets.y[i] > World.HEIGHT || bullets.maxY(i) < 0
+                    || bullets.x[i] > World.WIDTH || bullets.maxX(i) < 0) {
+                world.removeEntity(bullets, i);
+            }
+        }
+    }
+
+    private static void fireVolley(World world, BulletPattern pattern, int enemy, double muzzleX, double muzzleY) {
+        EntityStore enemies = world.getEnemies();
+        EntityStore bullets = world.getEnemyProjectiles();
+        EntityType type = EntityType.ENEMY_PROJECTILE;
+
+        double direction;
+        if (pattern.aimed) {
+            Hitbox player = world.getPlayer();
+            direction = Math.atan2(player.getCenterY() - muzzleY, player.getCenterX() - muzzleX);
+        } else {
+            direction = DOWN + enemies.emitterAngle[enemy];
+        }
+
+        for (int n = 0; n < pattern.bulletsPerVolley; n++) {
+            double angle = direction + pattern.offset(n);
+
+            int bullet = bullets.add(type, muzzleX - type.width / 2, muzzleY);
+            bullets.velocityX[bullet] = Math.cos(angle) * pattern.speed;
+            bullets.velocityY[bullet] = Math.sin(angle) * pattern.speed;
+            world.spawned(bullets, bullet);
+        }
+
+        enemies.emitterAngle[enemy] = (enemies.emitterAngle[enemy] + pattern.spin) % FULL_TURN;
+    }
+}
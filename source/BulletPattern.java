@@ -0,0 +1,50 @@
+
+/*
+* BulletPattern
+* Data for every way an enemy can fire. Each volley fires a number of
+* bullets spread evenly over an arc; a full circle gives a radial burst,
+* a spin per volley turns that into a spiral, and aiming points the arc
+* at the player. The angle of every bullet relative to the volley's
+* direction is worked out once here, so firing is just a table walk.
+* */
+public enum BulletPattern {
+
+    //        bullets, spread (deg), speed (px/s), cooldown (ms), spin (deg/volley), aimed
+    SINGLE(1, 0, 150, 750, 0, false),
+    AIMED_FAN(5, 50, 170, 1400, 0, true),
+    RADIAL(16, 360, 120, 1800, 0, false),
+    SPIRAL(4, 360, 140, 150, 11, false);
+
+    public final int bulletsPerVolley;
+    public final double speed;
+    public final long cooldownMillis;
+    public final double spin;           // Radians added to the emitter angle after each volley
+    public final boolean aimed;         // Centered on the player instead of straight down
+
+    // Angle of each bullet relative to the volley direction, in radians
+    private final double[] offsets;
+
+    BulletPattern(int bulletsPerVolley, double spreadDegrees, double speed, long cooldownMillis,
+                  double spinDegrees, boolean aimed) {
+        this.bulletsPerVolley = bulletsPerVolley;
+        this.speed = speed;
+        this.cooldownMillis = cooldownMillis;
+        this.spin = Math.toRadians(spinDegrees);
+        this.aimed = aimed;
+
+        offsets = new double[bulletsPerVolley];
+        double spread = Math.toRadians(spreadDegrees);
+
+        for (int i = 0; i < bulletsPerVolley && bulletsPerVolley > 1; i++) {
+
+            // A full circle would put the first and last bullet on top of each other
+            offsets[i] = (spreadDegrees >= 360)
+                    ? i * spread / bulletsPerVolley
+                    : -spread / 2 + i * spread / (bulletsPerVolley - 1);
+        }
+    }
+
+    public double offset(int bullet) {
+        return offsets[bullet];
+    }
+}
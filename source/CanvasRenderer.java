@@ -0,0 +1,135 @@
+import javafx.scene.Group;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+* CanvasRenderer
+* Batched alternative to one ImageView per entity. Draws every gameplay
+* entity into a single Canvas once per frame, so spawning and removing
+* entities never touches the scene graph (no layout or CSS passes, no
+* child list scans). Layers are drawn back to front:
+* - Power-ups
+* - Enemies
+* - Enemy projectiles
+* - Player projectiles
+* - Explosions
+* The player and the pepper-shot slices stay as nodes above the canvas.
+* Explosions expire on the view's tick-driven timing wheel, the same
+* clock as every other view effect, so they freeze with the simulation.
+* */
+public class CanvasRenderer {
+
+    private static final double EXPLOSION_SIZE = 64;
+
+    // How long an explosion stays on screen, in simulation ticks (300 ms)
+    private static final long EXPLOSION_TICKS = 300 * 1_000_000L / World.TICK_NANOS;
+
+    // Most explosions that can be on screen at once; the oldest is replaced when full
+    private static final int MAX_EXPLOSIONS = 32;
+
+    private final Canvas canvas;
+    private final GraphicsContext graphics;
+
+    // Shared decoded image for each entity type
+    private final Map<EntityType, Image> images = new EnumMap<>(EntityType.class);
+    private final Image explosionImage;
+
+    // Live explosions as a ring of primitive slots, each with its expiry timer
+    private final double[] explosionX = new double[MAX_EXPLOSIONS];
+    private final double[] explosionY = new double[MAX_EXPLOSIONS];
+    private final int[] explosionTimer = new int[MAX_EXPLOSIONS];
+    private final Runnable[] expireExplosion = new Runnable[MAX_EXPLOSIONS];
+    private final TimingWheel timers;
+    private int nextExplosion = 0;
+
+    public CanvasRenderer(Group layer, TimingWheel timers) {
+        this.timers = timers;
+
+        // One reusable expiry action per slot, so adding an explosion allocates nothing
+        for (int i = 0; i < MAX_EXPLOSIONS; i++) {
+            int slot = i;
+            explosionTimer[slot] = TimingWheel.NO_TIMER;
+            expireExplosion[slot] = () -> explosionTimer[slot] = TimingWheel.NO_TIMER;
+        }
+
+        canvas = new Canvas(World.WIDTH, World.HEIGHT);
+        graphics = canvas.getGraphicsContext2D();
+        layer.getChildren().add(canvas);
+
+        images.put(EntityType.PLAYER, ImageCache.get("/assets/sprite/pizza.png"));
+        images.put(EntityType.ENEMY, ImageCache.get("/assets/sprite/enemy.png"));
+        images.put(EntityType.PLAYER_PROJECTILE, ImageCache.get("/assets/projectile/projectile.png"));
+        images.put(EntityType.ENEMY_PROJECTILE, ImageCache.get("/assets/projectile/enemy_projectile.png"));
+        images.put(EntityType.SALT, ImageCache.get("/assets/sprite/salt.png"));
+        images.put(EntityType.PEPPER, ImageCache.get("/assets/sprite/pepper.png"));
+        images.put(EntityType.EXTRA_LIFE, ImageCache.get("/assets/sprite/extra_life.png"));
+        explosionImage = ImageCache.get("/assets/effect/explosion.png");
+    }
+
+    /*
+    * Shows an explosion centered on the given coordinates for a short time.
+    * */
+    public void addExplosion(double centerX, double centerY) {
+        explosionX[nextExplosion] = centerX - EXPLOSION_SIZE / 2;
+        explosionY[nextExplosion] = centerY - EXPLOSION_SIZE / 2;
+
+        // Replacing the oldest explosion when the ring is full restarts its timer
+        timers.cancel(explosionTimer[nextExplosion]);
+        explosionTimer[nextExplosion] = timers.schedule(EXPLOSION_TICKS, expireExplosion[nextExplosion]);
+        nextExplosion = (nextExplosion + 1) % MAX_EXPLOSIONS;
+    }
+
+    /*
+    * Removes every explosion, e.g. when the game resets.
+    * */
+    public void clearExplosions() {
+        for (int i = 0; i < MAX_EXPLOSIONS; i++) {
+            timers.cancel(explosionTimer[i]);
+            explosionTimer[i] = TimingWheel.NO_TIMER;
+        }
+    }
+
+    /*
+    * Redraws every entity in the world between its previous and current
+    * tick position.
+    * */
+    public void draw(World world, double alpha) {
+        clear();
+        drawStore(world.getPowerUps(), alpha);
+        drawStore(world.getEnemies(), alpha);
+        drawStore(world.getEnemyProjectiles(), alpha);
+        drawStore(world.getPlayerProjectiles(), alpha);
+        drawExplosions();
+    }
+
+    /*
+    * Clears the whole canvas.
+    * */
+    public void clear() {
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+    }
+
+    /*
+    * Draws one store as a single layer.
+    * */
+    public void drawStore(EntityStore store, double alpha) {
+        for (int i = 0; i < store.size(); i++) {
+            graphics.drawImage(images.get(store.type[i]),
+                    store.interpolateX(i, alpha), store.interpolateY(i, alpha),
+                    store.width[i], store.height[i]);
+        }
+    }
+
+    private void drawExplosions() {
+        for (int i = 0; i < MAX_EXPLOSIONS; i++) {
+            if (explosionTimer[i] == TimingWheel.NO_TIMER) {
+                continue;
+            }
+            graphics.drawImage(explosionImage, explosionX[i], explosionY[i], EXPLOSION_SIZE, EXPLOSION_SIZE);
+        }
+    }
+}
@@ -1,13 +1,3 @@
-import javafx.animation.AnimationTimer;
-import javafx.animation.PauseTransition;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.scene.layout.Pane;
-import javafx.scene.text.Text;
-import javafx.util.Duration;
-import java.util.Set;
-import java.util.function.Consumer;
-
 /*
 * CollisionManager
 * Handles all collision detection and responses in the game, including:
@@ -15,173 +5,220 @@ import java.util.function.Consumer;
 * - Player vs enemy projectiles
 * - Player vs power-ups (Salt, Pepper, ExtraLife)
 * - Enemy hit by player projectiles
-* Updates score, lives, and triggers explosions/sounds as needed.
+* Updates score and lives and triggers explosions/sounds as needed.
+* Which kinds collide, and what each contact does, is declared once in a
+* CollisionMatrix; the passes below only test pairs the matrix allows.
+* Contacts with enemies are swept from each entity's previous position to
+* its current one, so fast projectiles can't tunnel through an enemy
+* between ticks; each entity reports only its earliest such contact.
+* Damage to the player is pixel-accurate: once the rectangles overlap,
+* the sprites' CollisionMasks must overlap too, so transparent corners
+* never hurt. Pickups stay rectangular to keep them easy to collect.
+* Works purely on the headless World, with no JavaFX dependencies, and
+* reads positions straight from the World's entity stores.
 * */
 public class CollisionManager {
 
+    // Minimum time (ms) between taking damage to prevent instant death
+    private static final long DAMAGE_COOLDOWN = 1000;
+
+    // Broadphase grid over the 768x1024 play field holding enemy indices, rebuilt every tick
+    private static final SpatialHash ENEMY_GRID = new SpatialHash(World.WIDTH, World.HEIGHT, 128);
+
+    // Every colliding pair of entity kinds and its response
+    private static final CollisionMatrix MATRIX = new CollisionMatrix();
+
+    static {
+        MATRIX.register(EntityType.PLAYER, EntityType.ENEMY, CollisionManager::damagePlayer, true);
+        MATRIX.register(EntityType.PLAYER, EntityType.ENEMY_PROJECTILE, CollisionManager::damagePlayer, true);
+        MATRIX.register(EntityType.PLAYER, EntityType.SALT, CollisionManager::collectSalt);
+        MATRIX.register(EntityType.PLAYER, EntityType.PEPPER, CollisionManager::collectPepper);
+        MATRIX.register(EntityType.PLAYER, EntityType.EXTRA_LIFE, CollisionManager::collectExtraLife);
+        MATRIX.register(EntityType.PLAYER_PROJECTILE, EntityType.ENEMY, CollisionManager::shootEnemy);
+
+        // Load the masks now, so a missing image fails on the first tick rather than on the first hit
+        CollisionMask.forType(EntityType.PLAYER);
+    }
+
     /*
     * Main collision-processing method.
-    * This method is called every frame and it:
+    * This method is called every simulation tick and it:
     * - Handles all collision detection
     * - Applies damage, power-ups, and score updates
-    * - Updates UI and checks for game-over
+    * - Checks for game-over
     * */
-    public static void update(
-                              UIManager uiManager,
-                              Pane gamePane,
-                              Pane uiPane,
-                              PizzaSprite pizzaMain,
-                              GameState state,
-                              Text scoreText,
-                              Text highScoreText,
-                              LifeIcon lifeIcon1,
-                              LifeIcon lifeIcon2,
-                              LifeIcon lifeIcon3,
-                              AnimationTimer timer,
-                              Runnable onGameOver,
-                              Set<Enemy> activeEnemies,
-                              Consumer<Long> setFireCooldown,   // Allows weapon cooldown to be modified
-                              Runnable enablePepperShot,        // Enables special weapon behavior
-                              Runnable disablePepperShot) {     // Disables special weapon behavior
-
-        long damageCooldown = 1000; // Minimum time (ms) between taking damage to prevent instant death
-
-        // Iterate over all game objects currently on screen
-        for (var node : gamePane.getChildren()) {
-
-            // Player colliding with enemy
-            if (node instanceof Enemy enemy) {
-                if (CollisionUtils.intersects(pizzaMain, enemy) && System.currentTimeMillis() - state.timeSinceLastTookDamage >= damageCooldown) {
-                    SoundManager.playExplosionSound();
-                    pizzaMain.flash();
-                    state.life--;
-                    state.timeSinceLastTookDamage = System.currentTimeMillis();
-                }
-            }
+    public static void update(World world, long now) {
+        Hitbox player = world.getPlayer();
+        EntityStore enemies = world.getEnemies();
 
-            // Player colliding with enemy projectile
-            if (node instanceof EnemyProjectile enemyProjectile) {
-                if (CollisionUtils.intersects(pizzaMain, enemyProjectile) && System.currentTimeMillis() - state.timeSinceLastTookDamage >= damageCooldown) {
-                    SoundManager.playExplosionSound();
-                    pizzaMain.flash();
-                    state.life--;
-                    state.timeSinceLastTookDamage = System.currentTimeMillis();
+        // Player against everything the matrix lets touch the player
+        for (EntityStore store : world.getStores()) {
+            for (int i = 0; i < store.size(); i++) {
+                EntityType type = store.type[i];
+
+                if (!MATRIX.canCollide(type, EntityType.Category.PLAYER) || store.isDead(i)) {
+                    continue;
                 }
-            }
 
-            // Player projectile hitting an enemy
-            if (node instanceof Projectile projectile) {
-                for (Enemy enemy : activeEnemies) {
-
-                    // Prevents enemies off-screen from being hit
-                    if (enemy.getBoundsInParent().getMinY() >= 0 && CollisionUtils.intersects(projectile, enemy)) {
-                        state.score += 5;
-                        state.highScore = Math.max(state.highScore, state.score);
-                        CollisionManager.spawnExplosion(gamePane, enemy.getBoundsInParent().getCenterX(), enemy.getBoundsInParent().getCenterY());
-                        SoundManager.playExplosionSound();
-                        gamePane.getChildren().removeAll(enemy, projectile);
-                        break;
-                    }
+                if (!CollisionUtils.intersects(player.x, player.y, player.w, player.h,
+                        store.x[i], store.y[i], store.width[i], store.height[i], 0)) {
+                    continue;
                 }
-            }
 
-            // Salt power up, temporarily increases fire rate
-            if (node instanceof Salt salt) {
-                if (CollisionUtils.intersects(salt, pizzaMain)) {
-                    SoundManager.playPowerUpSound();
-                    pizzaMain.flash();
-                    setFireCooldown.accept(250L);
-                    gamePane.getChildren().remove(salt);
-                    PauseTransition reset = new PauseTransition(Duration.seconds(15));
-                    reset.setOnFinished(e -> setFireCooldown.accept(750L));
-                    reset.play();
+                // Only pays for the pixel test when the rectangles already overlap
+                if (!MATRIX.isPixelAccurate(EntityType.PLAYER, type)
+                        || CollisionMask.overlaps(EntityType.PLAYER, player.x, player.y, type, store.x[i], store.y[i])) {
+                    MATRIX.handler(EntityType.PLAYER, type).contact(world, null, -1, store, i, now);
                 }
             }
+        }
 
-            // Pepper power up, temporarily adds extra slices that also shoot
-            if (node instanceof Pepper pepper) {
-                if (CollisionUtils.intersects(pepper, pizzaMain)) {
-                    SoundManager.playPowerUpSound();
-                    pizzaMain.flash();
-                    gamePane.getChildren().remove(pepper);
-                    enablePepperShot.run();
-                    PauseTransition reset = new PauseTransition(Duration.seconds(15));
-                    reset.setOnFinished(e -> disablePepperShot.run());
-                    reset.play();
-                }
+        // Bucket on-screen enemies so other entities only test enemies sharing a cell
+        ENEMY_GRID.clear();
+        int gridCategories = 0;
+        for (int i = 0; i < enemies.size(); i++) {
+
+            // Prevents enemies off-screen from being hit
+            if (enemies.y[i] >= 0 && !enemies.isDead(i)) {
+
+                // Cover the whole tick's movement so swept queries find it
+                ENEMY_GRID.insert(i,
+                        Math.min(enemies.x[i], enemies.previousX[i]),
+                        Math.min(enemies.y[i], enemies.previousY[i]),
+                        Math.max(enemies.x[i], enemies.previousX[i]) + enemies.width[i],
+                        Math.max(enemies.y[i], enemies.previousY[i]) + enemies.height[i]);
+                gridCategories |= enemies.type[i].category;
             }
+        }
 
-            // Extra life pickup (capped at 3 lives)
-            if (node instanceof ExtraLife extraLife) {
-                if (CollisionUtils.intersects(extraLife, pizzaMain)) {
-                    if (state.life > 0 && state.life < 3) {
-                        state.life++;
-                        uiManager.updateLives();
-                        SoundManager.playPowerUpSound();
-                        pizzaMain.flash();
-                    }
-                    gamePane.getChildren().remove(extraLife);
-                }
+        // Everything else against the enemies, skipping kinds that never hit them
+        for (EntityStore store : world.getStores()) {
+            if (store != enemies && gridCategories != 0) {
+                collideWithEnemies(world, store, enemies, gridCategories, now);
             }
         }
 
-        // Update score UI every frame
-        scoreText.setText("score\t\t" + state.score);
-        highScoreText.setText("hi score\t\t" + state.highScore);
+        // Handle game-over state
+        if (world.getState().life <= 0) {
+            world.endGame();
+        }
+    }
 
-        // Update life icons and handle game-over state
-        switch (state.life) {
-            case 3 -> {
-                lifeIcon1.setVisible(true);
-                lifeIcon2.setVisible(true);
-                lifeIcon3.setVisible(true);
-            }
-            case 2 -> {
-                lifeIcon1.setVisible(true);
-                lifeIcon2.setVisible(true);
-                lifeIcon3.setVisible(false);
+    private static void collideWithEnemies(World world, EntityStore store, EntityStore enemies, int gridCategories, long now) {
+        for (int p = 0; p < store.size(); p++) {
+            EntityType type = store.type[p];
+
+            if (!MATRIX.canCollide(type, gridCategories) || store.isDead(p)) {
+                continue;
             }
-            case 1 -> {
-                lifeIcon1.setVisible(true);
-                lifeIcon2.setVisible(false);
-                lifeIcon3.setVisible(false);
+
+            // Sweep from last tick's position to this tick's
+            double px = store.previousX[p];
+            double py = store.previousY[p];
+            double pw = store.width[p];
+            double ph = store.height[p];
+            double dx = store.x[p] - px;
+            double dy = store.y[p] - py;
+            int found = ENEMY_GRID.query(Math.min(px, store.x[p]), Math.min(py, store.y[p]),
+                    Math.max(px, store.x[p]) + pw, Math.max(py, store.y[p]) + ph);
+            int[] candidates = ENEMY_GRID.getResults();   // Read after querying, the buffer may have grown
+
+            // Find the enemy touched first along the way
+            int hit = -1;
+            double hitTime = 2;
+            for (int c = 0; c < found; c++) {
+                int e = candidates[c];
+
+                // Destroyed enemies can't be hit again by later projectiles this tick
+                if (enemies.isDead(e) || MATRIX.handler(type, enemies.type[e]) == null) {
+                    continue;
+                }
+
+                // Sweep against the enemy's start of tick position, moving by the difference in motion
+                double edx = enemies.x[e] - enemies.previousX[e];
+                double edy = enemies.y[e] - enemies.previousY[e];
+                double time = CollisionUtils.sweepTime(px, py, pw, ph, dx - edx, dy - edy,
+                        enemies.previousX[e], enemies.previousY[e], enemies.width[e], enemies.height[e]);
+
+                if (time >= 0 && time < hitTime) {
+                    hit = e;
+                    hitTime = time;
+                }
             }
-            case 0 -> {
-                // Game over cleanup
-                lifeIcon1.setVisible(false);
-                lifeIcon2.setVisible(false);
-                lifeIcon3.setVisible(false);
-
-                pizzaMain.setVisible(false);
-                CollisionManager.spawnExplosion(gamePane, pizzaMain.getBoundsInParent().getCenterX(), pizzaMain.getBoundsInParent().getCenterY());
-                SoundManager.playGameOverSound();
-
-                gamePane.getChildren().removeIf(node -> node instanceof PizzaSprite && node != pizzaMain);
-                timer.stop();
-                onGameOver.run();
+
+            if (hit >= 0) {
+                MATRIX.handler(type, enemies.type[hit]).contact(world, store, p, enemies, hit, now);
             }
         }
     }
 
     /*
-    * Spawns a short-lived explosion effect at a given position.
+    * Player projectile destroys an enemy.
     * */
-    public static void spawnExplosion(Pane gamePane, double centerX, double centerY) {
-
-        // Center the explosion image on the given coordinates
-        ImageView explosion = new ImageView(new Image(CollisionManager.class.getResource("/assets/effect/explosion.png").toExternalForm()));
-        explosion.setFitWidth(64);
-        explosion.setFitHeight(64);
-        explosion.setPreserveRatio(true);
-        explosion.setX(centerX - explosion.getFitWidth() / 2);
-        explosion.setY(centerY - explosion.getFitHeight() / 2);
-
-        gamePane.getChildren().add(explosion);
-
-        // Automatically remove explosion after a short delay
-        PauseTransition explosion1Animation = new PauseTransition(Duration.millis(300));
-        explosion1Animation.setOnFinished(e -> gamePane.getChildren().remove(explosion));
-        explosion1Animation.play();
+    private static void shootEnemy(World world, EntityStore projectiles, int p, EntityStore enemies, int e, long now) {
+        GameState state = world.getState();
+        WorldListener listener = world.getListener();
+
+        state.score += 5;
+        state.highScore = Math.max(state.highScore, state.score);
+        GameEvents.enemyHit(enemies.centerX(e), enemies.centerY(e), state.score);
+        listener.explosion(enemies.centerX(e), enemies.centerY(e));
+        listener.playSound(SoundEffect.EXPLOSION);
+        world.removeEntity(enemies, e);
+        world.removeEntity(projectiles, p);
+    }
+
+    /*
+    * Salt power up, temporarily increases fire rate.
+    * */
+    private static void collectSalt(World world, EntityStore unusedPlayerStore, int unusedPlayer, EntityStore powerUps, int i, long now) {
+        GameEvents.powerUpCollected(powerUps.type[i]);
+        world.getListener().playSound(SoundEffect.POWER_UP);
+        world.getListener().playerFlashed();
+        world.activateSalt();
+        world.removeEntity(powerUps, i);
+    }
+
+    /*
+    * Pepper power up, temporarily adds extra slices that also shoot.
+    * */
+    private static void collectPepper(World world, EntityStore unusedPlayerStore, int unusedPlayer, EntityStore powerUps, int i, long now) {
+        GameEvents.powerUpCollected(powerUps.type[i]);
+        world.getListener().playSound(SoundEffect.POWER_UP);
+        world.getListener().playerFlashed();
+        world.activatePepper();
+        world.removeEntity(powerUps, i);
+    }
+
+    /*
+    * Extra life pickup (capped at 3 lives).
+    * */
+    private static void collectExtraLife(World world, EntityStore unusedPlayerStore, int unusedPlayer, EntityStore powerUps, int i, long now) {
+        GameState state = world.getState();
+        GameEvents.powerUpCollected(powerUps.type[i]);
+
+        if (state.life > 0 && state.life < 3) {
+            state.life++;
+            world.getListener().playSound(SoundEffect.POWER_UP);
+            world.getListener().playerFlashed();
+        }
+        world.removeEntity(powerUps, i);
     }
-}
 
+    /*
+    * Takes a life from the player unless they were hit very recently.
+    * Enemies and enemy projectiles hurt the same way and survive the hit.
+    * */
+    private static void damagePlayer(World world, EntityStore unusedPlayerStore, int unusedPlayer, EntityStore store, int i, long now) {
+        GameState state = world.getState();
+
+        if (now - state.timeSinceLastTookDamage >= DAMAGE_COOLDOWN) {
+            WorldListener listener = world.getListener();
+            listener.playSound(SoundEffect.PLAYER_HIT);
+            listener.playerFlashed();
+            state.life--;
+            state.timeSinceLastTookDamage = now;
+            GameEvents.playerDamaged(state.life);
+        }
+    }
+}
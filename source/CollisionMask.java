@@ -0,0 +1,179 @@
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/*
+* CollisionMask
+* Pixel-accurate shape of a sprite, used after an AABB test has passed so
+* transparent corners don't count as hits. Each mask is built once from
+* the sprite's alpha channel at its on-screen size and packed one bit per
+* pixel into rows of longs, so testing two masks is a word-wise AND over
+* the rows they share.
+* Masks are decoded with ImageIO rather than JavaFX so the headless
+* simulation uses exactly the same shapes as the game. Collisions decide
+* the outcome of a replay, so a missing image is an error rather than a
+* fallback: the assets directory's parent must be on the classpath.
+* */
+public class CollisionMask {
+
+    // Pixels at least this opaque are solid
+    private static final int ALPHA_THRESHOLD = 128;
+
+    // Mask for each entity type
+    private static final CollisionMask[] BY_TYPE = loadAll();
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long[] bits;      // Row-major; bit (x & 63) of word x >> 6 is pixel x
+
+    public CollisionMask(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.bits = new long[wordsPerRow * height];
+    }
+
+    public void set(int x, int y) {
+        bits[y * wordsPerRow + (x >>> 6)] |= 1L << (x & 63);
+    }
+
+    public boolean get(int x, int y) {
+        return (bits[y * wordsPerRow + (x >>> 6)] & (1L << (x & 63))) != 0;
+    }
+
+    /*
+    * Mask for an entity type.
+    * */
+    public static CollisionMask forType(EntityType type) {
+        return BY_TYPE[type.ordinal()];
+    }
+
+    /*
+    * Whether two entities whose rectangles already overlap also share a
+    * solid pixel. Positions are their top-left corners, rounded to whole
+    * pixels.
+    * */
+    public static boolean overlaps(EntityType a, double ax, double ay, EntityType b, double bx, double by) {
+        return forType(a).overlaps(forType(b), (int) Math.round(bx - ax), (int) Math.round(by - ay));
+    }
+
+    /*
+    * Whether this mask shares a solid pixel with 'other' placed at
+    * (offsetX, offsetY) relative to this one.
+    * */
+    public boolean overlaps(CollisionMask other, int offsetX, int offsetY) {
+        int firstRow = Math.max(0, offsetY);
+        int lastRow = Math.min(height, offsetY + other.height);
+        int firstColumn = Math.max(0, offsetX);
+        int lastColumn = Math.min(width, offsetX + other.width);
+
+        if (firstRow >= lastRow || firstColumn >= lastColumn) {
+            return false;
+        }
+
+        for (int y = firstRow; y < lastRow; y++) {
+            int otherRow = (y - offsetY) * other.wordsPerRow;
+
+            // Compare 64 columns at a time, lining the other row up with this one
+            for (int x = firstColumn; x < lastColumn; x += 64) {
+                long mine = window(bits, y * wordsPerRow, wordsPerRow, x);
+                long theirs = window(other.bits, otherRow, other.wordsPerRow, x - offsetX);
+
+                // Bits past either mask's width are always clear, so the last window needs no trimming
+                if ((mine & theirs) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /*
+    * 64 pixels of a row starting at column 'start', zero outside the row.
+    * */
+    private static long window(long[] bits, int rowStart, int wordsPerRow, int start) {
+        int word = start >> 6;      // Arithmetic shift, so negative starts round down
+        int shift = start & 63;
+
+        long low = (word >= 0 && word < wordsPerRow) ? bits[rowStart + word] : 0;
+        if (shift == 0) {
+            return low;
+        }
+
+        long high = (word + 1 >= 0 && word + 1 < wordsPerRow) ? bits[rowStart + word + 1] : 0;
+        return (low >>> shift) | (high << (64 - shift));
+    }
+
+    /*
+    * Builds a mask from an image's alpha channel, scaled (nearest pixel)
+    * to the given on-screen size.
+    * */
+    public static CollisionMask fromImage(BufferedImage image, int width, int height) {
+        CollisionMask mask = new CollisionMask(width, height);
+
+        for (int y = 0; y < height; y++) {
+            int sourceY = (int) ((y + 0.5) * image.getHeight() / height);
+
+            for (int x = 0; x < width; x++) {
+                int sourceX = (int) ((x + 0.5) * image.getWidth() / width);
+
+                if ((image.getRGB(sourceX, sourceY) >>> 24) >= ALPHA_THRESHOLD) {
+                    mask.set(x, y);
+                }
+            }
+        }
+        return mask;
+    }
+
+    /*
+    * Fraction of the mask's pixels that are solid.
+    * */
+    public double coverage() {
+        int solid = 0;
+        for (long word : bits) {
+            solid += Long.bitCount(word);
+        }
+        return (double) solid / (width * height);
+    }
+
+    private static CollisionMask[] loadAll() {
+        CollisionMask[] masks = new CollisionMask[EntityType.values().length];
+
+        for (EntityType type : EntityType.values()) {
+            masks[type.ordinal()] = load(imageFor(type), type);
+        }
+        return masks;
+    }
+
+    private static CollisionMask load(String path, EntityType type) {
+        try (InputStream in = CollisionMask.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Collision mask image " + path + " is not on the classpath");
+            }
+
+            BufferedImage image = ImageIO.read(in);
+            if (image == null) {
+                throw new IllegalStateException("Collision mask image " + path + " is not a readable image");
+            }
+            return fromImage(image, (int) type.width, (int) type.height);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read collision mask " + path, e);
+        }
+    }
+
+    // Sprite image each entity type is drawn with
+    private static String imageFor(EntityType type) {
+        return switch (type) {
+            case PLAYER -> "/assets/sprite/pizza.png";
+            case ENEMY -> "/assets/sprite/enemy.png";
+            case PLAYER_PROJECTILE -> "/assets/projectile/projectile.png";
+            case ENEMY_PROJECTILE -> "/assets/projectile/enemy_projectile.png";
+            case SALT -> "/assets/sprite/salt.png";
+            case PEPPER -> "/assets/sprite/pepper.png";
+            case EXTRA_LIFE -> "/assets/sprite/extra_life.png";
+        };
+    }
+}
@@ -0,0 +1,87 @@
+
+/*
+* CollisionMatrix
+* Declares which kinds of entity collide and what happens when they do.
+* Every EntityType belongs to one collision category bit; registering a
+* contact handler for a pair of types adds each type's category to the
+* other's mask. The collision pass tests masks before any bounds math,
+* so pairs nobody registered cost one bitwise AND, and a new entity kind
+* only needs a category and a registration rather than a new branch.
+* Handlers are looked up in a flat table indexed by the pair of types.
+* Each registration fills in both orders, with the arguments swapped
+* for the reverse one, so a pass may query a pair in either order no
+* matter how it was registered.
+* A pair can also ask for pixel-accurate contact, in which case its
+* rectangles must overlap and so must their CollisionMasks.
+* */
+public class CollisionMatrix {
+
+    /*
+    * Called when two entities of a registered pair overlap. 'first' is
+    * the entity of the first type the pair was looked up with. The player
+    * has no store, so player contacts pass null and -1 in its place.
+    * */
+    @FunctionalInterface
+    public interface ContactHandler {
+        void contact(World world, EntityStore firstStore, int first, EntityStore secondStore, int second, long now);
+    }
+
+    private static final EntityType[] TYPES = EntityType.values();
+
+    private final int[] maskOf = new int[TYPES.length];
+    private final ContactHandler[] handlers = new ContactHandler[TYPES.length * TYPES.length];
+    private final boolean[] pixelAccurate = new boolean[TYPES.length * TYPES.length];
+
+    /*
+    * Registers what happens when 'first' and 'second' overlap. A later
+    * registration for the same pair, in either order, replaces the earlier one.
+    * */
+    public void register(EntityType first, EntityType second, ContactHandler handler) {
+        register(first, second, handler, false);
+    }
+
+    /*
+    * Registers a pair whose contact is tested against the sprites' pixel
+    * shapes once their rectangles overlap.
+    * */
+    public void register(EntityType first, EntityType second, ContactHandler handler, boolean pixelAccurate) {
+        int pair = first.ordinal() * TYPES.length + second.ordinal();
+        int reversed = second.ordinal() * TYPES.length + first.ordinal();
+
+        if (pair != reversed) {
+            handlers[reversed] = (world, secondStore, secondIndex, firstStore, firstIndex, now) ->
+                    handler.contact(world, firstStore, firstIndex, secondStore, secondIndex, now);
+            this.pixelAccurate[reversed] = pixelAccurate;
+        }
+        handlers[pair] = handler;
+        this.pixelAccurate[pair] = pixelAccurate;
+
+        maskOf[first.ordinal()] |= second.category;
+        maskOf[second.ordinal()] |= first.category;
+    }
+
+    /*
+    * Categories the given type can collide with.
+    * */
+    public int maskOf(EntityType type) {
+        return maskOf[type.ordinal()];
+    }
+
+    /*
+    * Whether anything is registered between a type and any of the given categories.
+    * */
+    public boolean canCollide(EntityType type, int categories) {
+        return (maskOf[type.ordinal()] & categories) != 0;
+    }
+
+    /*
+    * Handler for an ordered pair of types, or null if none is registered.
+    * */
+    public ContactHandler handler(EntityType first, EntityType second) {
+        return handlers[first.ordinal() * TYPES.length + second.ordinal()];
+    }
+
+    public boolean isPixelAccurate(EntityType first, EntityType second) {
+        return pixelAccurate[first.ordinal() * TYPES.length + second.ordinal()];
+    }
+}
@@ -1,40 +1,111 @@
-import javafx.geometry.BoundingBox;
-import javafx.geometry.Bounds;
-import javafx.scene.image.ImageView;
 
 /*
 * CollisionUtils
-* Utility class providing collision detection methods for ImageView objects.
-* Supports optional padding to shrink hitboxes for more forgiving collisions.
+* Utility class providing allocation-free collision detection on primitive
+* hitbox values. Supports optional padding to shrink hitboxes for more
+* forgiving collisions.
 * */
 public class CollisionUtils {
 
     /*
-    * Checks collision between two ImageViews with optional padding.
-    * Padding shrinks the second object's hitbox, allowing for more
-    * forgiving or visually accurate collisions.
+    * Checks collision between two rectangles with optional padding.
+    * Padding shrinks the second rectangle, allowing for more
+    * forgiving or visually accurate collisions. Edges that touch
+    * count as a hit, matching JavaFX Bounds.intersects.
     * */
-    public static boolean intersects(ImageView a, ImageView b, double padding) {
-
-        // Actual on-screen bounds of both objects
-        Bounds b1 = a.getBoundsInParent();
-        Bounds b2 = b.getBoundsInParent();
+    public static boolean intersects(
+            double ax, double ay, double aw, double ah,
+            double bx, double by, double bw, double bh,
+            double padding) {
 
         // Create a smaller hitbox for 'b' by trimming all sides equally
-        Bounds shrunkBounds = new BoundingBox(
-                b2.getMinX() + padding,
-                b2.getMinY() + padding,
-                b2.getWidth() - 2 * padding,
-                b2.getHeight() - 2 * padding);
+        double shrunkWidth = bw - 2 * padding;
+        double shrunkHeight = bh - 2 * padding;
+
+        // A hitbox padded away entirely can never be hit
+        if (shrunkWidth < 0 || shrunkHeight < 0 || aw < 0 || ah < 0) {
+            return false;
+        }
+
+        double shrunkX = bx + padding;
+        double shrunkY = by + padding;
 
         // Check if 'a' intersects the adjusted bounds of 'b'
-        return b1.intersects(shrunkBounds);
+        return ax <= shrunkX + shrunkWidth
+                && ax + aw >= shrunkX
+                && ay <= shrunkY + shrunkHeight
+                && ay + ah >= shrunkY;
+    }
+
+    /*
+    * Time of first contact, from 0 to 1, of rectangle 'a' moving by
+    * (dx, dy) against a still rectangle 'b', or -1 if they never touch
+    * during the move. Touching edges count as a hit, as in intersects().
+    * Sweeps the corner of 'a' through 'b' grown by the size of 'a', one
+    * axis at a time, so a fast box can never pass through 'b' unseen.
+    * */
+    public static double sweepTime(
+            double ax, double ay, double aw, double ah, double dx, double dy,
+            double bx, double by, double bw, double bh) {
+
+        if (aw < 0 || ah < 0 || bw < 0 || bh < 0) {
+            return -1;
+        }
+
+        double entry = 0;
+        double exit = 1;
+
+        // Horizontal: the corner must be within [bx - aw, bx + bw]
+        double minX = bx - aw;
+        double maxX = bx + bw;
+        if (dx == 0) {
+            if (ax < minX || ax > maxX) {
+                return -1;
+            }
+        } else {
+            double near = (minX - ax) / dx;
+            double far = (maxX - ax) / dx;
+            entry = Math.max(entry, Math.min(near, far));
+            exit = Math.min(exit, Math.max(near, far));
+        }
+
+        // Vertical: the corner must be within [by - ah, by + bh]
+        double minY = by - ah;
+        double maxY = by + bh;
+        if (dy == 0) {
+            if (ay < minY || ay > maxY) {
+                return -1;
+            }
+        } else {
+            double near = (minY - ay) / dy;
+            double far = (maxY - ay) / dy;
+            entry = Math.max(entry, Math.min(near, far));
+            exit = Math.min(exit, Math.max(near, far));
+        }
+
+        return (entry <= exit) ? entry : -1;
+    }
+
+    /*
+    * Whether rectangle 'a' moving by (dx, dy) touches still rectangle 'b' at any point of the move.
+    * */
+    public static boolean sweptIntersects(
+            double ax, double ay, double aw, double ah, double dx, double dy,
+            double bx, double by, double bw, double bh) {
+        return sweepTime(ax, ay, aw, ah, dx, dy, bx, by, bw, bh) >= 0;
+    }
+
+    /*
+    * Checks collision between two cached hitboxes with optional padding.
+    * */
+    public static boolean intersects(Hitbox a, Hitbox b, double padding) {
+        return intersects(a.x, a.y, a.w, a.h, b.x, b.y, b.w, b.h, padding);
     }
 
     /*
     * Convenience overload with no padding
     * */
-    public static boolean intersects(ImageView a, ImageView b) {
+    public static boolean intersects(Hitbox a, Hitbox b) {
         return intersects(a, b, 0);
     }
 }
@@ -0,0 +1,26 @@
+import javafx.scene.image.ImageView;
+
+/*
+* EntitySprite
+* Base class for the JavaFX sprites that draw simulation entities.
+* A sprite holds no game logic; the view copies its entity's interpolated
+* position onto it once per frame.
+* */
+public class EntitySprite extends ImageView {
+
+    public EntitySprite(String imagePath, double fitWidth) {
+
+        // Load and configure sprite image
+        this.setImage(ImageCache.get(imagePath));
+        this.setPreserveRatio(true);
+        this.setFitWidth(fitWidth);
+    }
+
+    /*
+    * Moves the sprite to a position in play field coordinates.
+    * */
+    public void place(double x, double y) {
+        this.setX(x);
+        this.setY(y);
+    }
+}
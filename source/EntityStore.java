@@ -0,0 +1,323 @@
+import java.util.Arrays;
+
+/*
+* EntityStore
+* Data-oriented storage for one group of entities (e.g. all enemies).
+* Every component lives in its own dense primitive array, so a pass over
+* the group walks memory sequentially instead of chasing object pointers.
+* Entities are removed by moving the last entity into the freed index
+* (swap-remove), so dense indices change; use a handle to refer to an
+* entity across ticks. A handle stays valid until its entity is removed;
+* after that the slot's generation changes, so a stale handle is never
+* mistaken for the entity that reuses the slot.
+* Removal goes through one despawn queue: kill() flags an entity and
+* queues its index, and removeDead() drains the queue, so cleanup costs
+* O(removed) rather than a scan of the whole store.
+* */
+public class EntityStore {
+
+    // Handle layout: | store id (3 bits) | generation (8 bits) | slot (20 bits) |
+    private static final int SLOT_BITS = 20;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    private static final int GENERATION_BITS = 8;
+    private static final int GENERATION_MASK = (1 << GENERATION_BITS) - 1;
+    private static final int STORE_SHIFT = SLOT_BITS + GENERATION_BITS;
+
+    // State flags
+    public static final int FLAG_DEAD = 1;  // Removed this tick, dropped at the next removeDead()
+
+    private final int storeId;
+    private int size = 0;
+
+    // Indices flagged dead since the last removeDead(), in kill order
+    private int[] despawnQueue;
+    private int despawnCount = 0;
+
+    // Dense component arrays, valid for indices 0 to size - 1
+    public EntityType[] type;
+    public double[] x;              // Left edge in play field coordinates
+    public double[] y;              // Top edge in play field coordinates
+    public double[] previousX;      // Position at the start of the tick, used for render interpolation
+    public double[] previousY;
+    public double[] width;
+    public double[] height;
+    public double[] velocityX;      // Straight-line speed in pixels per second (projectiles)
+    public double[] velocityY;
+    public long[] spawnTime;        // Zigzag movement (enemies and power-ups)
+    public long[] pathDuration;
+    public long[] timeSinceLastFired;
+    public BulletPattern[] pattern; // What an enemy fires, null for entities that don't
+    public double[] emitterAngle;   // Current rotation of a spinning pattern, in radians
+    public ZigzagPath[] path;
+    public int[] flags;
+    private int[] slotOf;           // Dense index to handle slot
+
+    // Sparse slot table backing stable handles
+    private int[] indexOfSlot;      // Slot to dense index, -1 while the slot is free
+    private int[] generationOfSlot; // Bumped every time a slot is freed
+    private int[] freeSlots;
+    private int freeCount = 0;
+    private int slotCount = 0;
+
+    public EntityStore(int storeId, int initialCapacity) {
+        this.storeId = storeId;
+        allocate(initialCapacity);
+        despawnQueue = new int[initialCapacity];
+        indexOfSlot = new int[initialCapacity];
+        generationOfSlot = new int[initialCapacity];
+        freeSlots = new int[initialCapacity];
+    }
+
+    /*
+    * Adds an entity of the given type at (x, y) and returns its dense index.
+    * Size comes from the type; every other component starts at zero.
+    * */
+    public int add(EntityType entityType, double startX, double startY) {
+        if (size == type.length) {
+            allocate(size * 2);
+        }
+
+        int slot = (freeCount > 0) ? freeSlots[--freeCount] : newSlot();
+        int index = size++;
+
+        indexOfSlot[slot] = index;
+        slotOf[index] = slot;
+
+        type[index] = entityType;
+        x[index] = startX;
+        y[index] = startY;
+        previousX[index] = startX;
+        previousY[index] = startY;
+        width[index] = entityType.width;
+        height[index] = entityType.height;
+        velocityX[index] = 0;
+        velocityY[index] = 0;
+        spawnTime[index] = 0;
+        pathDuration[index] = 0;
+        timeSinceLastFired[index] = 0;
+        pattern[index] = null;
+        emitterAngle[index] = 0;
+        path[index] = null;
+        flags[index] = 0;
+        return index;
+    }
+
+    /*
+    * Flags an entity as removed. It stays in place, so indices held during
+    * the current pass stay valid, until removeDead() compacts the store.
+    * Returns false if it was already flagged.
+    * */
+    public boolean kill(int index) {
+        if ((flags[index] & FLAG_DEAD) != 0) {
+            return false;
+        }
+        flags[index] |= FLAG_DEAD;
+
+        if (despawnCount == despawnQueue.length) {
+            despawnQueue = Arrays.copyOf(despawnQueue, despawnCount * 2);
+        }
+        despawnQueue[despawnCount++] = index;
+        return true;
+    }
+
+    public boolean isDead(int index) {
+        return (flags[index] & FLAG_DEAD) != 0;
+    }
+
+    /*
+    * Number of entities waiting in the despawn queue.
+    * */
+    public int getDespawnCount() {
+        return despawnCount;
+    }
+
+    /*
+    * Dense index of the n-th queued entity. Valid until removeDead().
+    * */
+    public int getDespawnIndex(int n) {
+        return despawnQueue[n];
+    }
+
+    /*
+    * Drops every queued entity. Removes the highest index first, so the
+    * entity swapped into each freed index is always a live one.
+    * */
+    public void removeDead() {
+        if (despawnCount == 0) {
+            return;
+        }
+
+        Arrays.sort(despawnQueue, 0, despawnCount);
+        for (int n = despawnCount - 1; n >= 0; n--) {
+            removeAt(despawnQueue[n]);
+        }
+        despawnCount = 0;
+    }
+
+    /*
+    * Swap-remove: the last entity takes the freed index.
+    * */
+    private void removeAt(int index) {
+        int slot = slotOf[index];
+        int last = --size;
+
+        if (index != last) {
+            type[index] = type[last];
+            x[index] = x[last];
+            y[index] = y[last];
+            previousX[index] = previousX[last];
+            previousY[index] = previousY[last];
+            width[index] = width[last];
+            height[index] = height[last];
+            velocityX[index] = velocityX[last];
+            velocityY[index] = velocityY[last];
+            spawnTime[index] = spawnTime[last];
+            pathDuration[index] = pathDuration[last];
+            timeSinceLastFired[index] = timeSinceLastFired[last];
+            pattern[index] = pattern[last];
+            emitterAngle[index] = emitterAngle[last];
+            path[index] = path[last];
+            flags[index] = flags[last];
+
+            int movedSlot = slotOf[last];
+            slotOf[index] = movedSlot;
+            indexOfSlot[movedSlot] = index;
+        }
+
+        // Clear references held by the freed index
+        path[last] = null;
+        type[last] = null;
+
+        indexOfSlot[slot] = -1;
+        generationOfSlot[slot] = (generationOfSlot[slot] + 1) & GENERATION_MASK;
+        freeSlots[freeCount++] = slot;
+    }
+
+    private int newSlot() {
+        if (slotCount == indexOfSlot.length) {
+            int capacity = slotCount * 2;
+            indexOfSlot = Arrays.copyOf(indexOfSlot, capacity);
+            generationOfSlot = Arrays.copyOf(generationOfSlot, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+        }
+        return slotCount++;
+    }
+
+    /*
+    * Grows every dense array to the given capacity.
+    * */
+    private void allocate(int capacity) {
+        if (type == null) {
+            type = new EntityType[capacity];
+            x = new double[capacity];
+            y = new double[capacity];
+            previousX = new double[capacity];
+            previousY = new double[capacity];
+            width = new double[capacity];
+            height = new double[capacity];
+            velocityX = new double[capacity];
+            velocityY = new double[capacity];
+            spawnTime = new long[capacity];
+            pathDuration = new long[capacity];
+            timeSinceLastFired = new long[capacity];
+            pattern = new BulletPattern[capacity];
+            emitterAngle = new double[capacity];
+            path = new ZigzagPath[capacity];
+            flags = new int[capacity];
+            slotOf = new int[capacity];
+            return;
+        }
+
+        type = Arrays.copyOf(type, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        spawnTime = Arrays.copyOf(spawnTime, capacity);
+        pathDuration = Arrays.copyOf(pathDuration, capacity);
+        timeSinceLastFired = Arrays.copyOf(timeSinceLastFired, capacity);
+        pattern = Arrays.copyOf(pattern, capacity);
+        emitterAngle = Arrays.copyOf(emitterAngle, capacity);
+        path = Arrays.copyOf(path, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        slotOf = Arrays.copyOf(slotOf, capacity);
+    }
+
+    /*
+    * Stable handle for the entity currently at the given dense index.
+    * */
+    public int handle(int index) {
+        int slot = slotOf[index];
+        return (storeId << STORE_SHIFT) | (generationOfSlot[slot] << SLOT_BITS) | slot;
+    }
+
+    /*
+    * Dense index of a live entity, or -1 if the handle is stale.
+    * */
+    public int indexOf(int handle) {
+        int slot = handle & SLOT_MASK;
+
+        if (storeIdOf(handle) != storeId || slot >= slotCount) {
+            return -1;
+        }
+        if (((handle >>> SLOT_BITS) & GENERATION_MASK) != generationOfSlot[slot]) {
+            return -1;
+        }
+        return indexOfSlot[slot];
+    }
+
+    /*
+    * Handle slot of the entity at the given dense index. Slots are small,
+    * dense integers, handy for indexing per-entity arrays outside the store.
+    * */
+    public int slot(int index) {
+        return slotOf[index];
+    }
+
+    public static int slotOfHandle(int handle) {
+        return handle & SLOT_MASK;
+    }
+
+    public static int storeIdOf(int handle) {
+        return handle >>> STORE_SHIFT;
+    }
+
+    public int getStoreId() {
+        return storeId;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /*
+    * Interpolated position between the previous and current tick.
+    * */
+    public double interpolateX(int index, double alpha) {
+        return previousX[index] + (x[index] - previousX[index]) * alpha;
+    }
+
+    public double interpolateY(int index, double alpha) {
+        return previousY[index] + (y[index] - previousY[index]) * alpha;
+    }
+
+    public double centerX(int index) {
+        return x[index] + width[index] / 2;
+    }
+
+    public double centerY(int index) {
+        return y[index] + height[index] / 2;
+    }
+
+    public double maxX(int index) {
+        return x[index] + width[index];
+    }
+
+    public double maxY(int index) {
+        return y[index] + height[index];
+    }
+}
@@ -0,0 +1,41 @@
+
+/*
+* EntityType
+* Every kind of entity in the simulation, with its on-screen size in pixels
+* and its collision category (see CollisionMatrix).
+* All sprite images are square and drawn at these sizes.
+* */
+public enum EntityType {
+    PLAYER(75, 75, Category.PLAYER),
+    ENEMY(75, 75, Category.ENEMY),
+    PLAYER_PROJECTILE(50, 50, Category.PLAYER_PROJECTILE),
+    ENEMY_PROJECTILE(50, 50, Category.ENEMY_PROJECTILE),
+    SALT(75, 75, Category.POWER_UP),
+    PEPPER(75, 75, Category.POWER_UP),
+    EXTRA_LIFE(75, 75, Category.POWER_UP);
+
+    public final double width;
+    public final double height;
+    public final int category;      // Single collision category bit
+
+    EntityType(double width, double height, int category) {
+        this.width = width;
+        this.height = height;
+        this.category = category;
+    }
+
+    /*
+    * Collision category bits. Kinds that always collide the same way,
+    * like the power-ups, share a category.
+    * */
+    public static final class Category {
+        public static final int PLAYER = 1;
+        public static final int ENEMY = 1 << 1;
+        public static final int PLAYER_PROJECTILE = 1 << 2;
+        public static final int ENEMY_PROJECTILE = 1 << 3;
+        public static final int POWER_UP = 1 << 4;
+
+        private Category() {
+        }
+    }
+}
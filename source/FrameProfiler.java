@@ -0,0 +1,120 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/*
+* FrameProfiler
+* Per-phase timing for the simulation tick and the frame, one histogram
+* per phase. Simulation phases record once per tick, RENDER and UI once
+* per displayed frame. Phases are timed with:
+*   long start = FrameProfiler.start();
+*   ...
+*   FrameProfiler.stop(FrameProfiler.Phase.MOVEMENT, start);
+* While disabled, start() and stop() only check a flag and never read
+* the clock, so the instrumentation can stay in place permanently.
+* */
+public class FrameProfiler {
+
+    public enum Phase {
+        MOVEMENT,       // Enemies, projectiles and power-ups
+        CLEANUP,        // Dropping entities that left the screen
+        DIFFICULTY,
+        POWER_UPS,      // Expiry and spawning
+        PLAYER,         // Player movement
+        FIRING,         // Player firing
+        SPAWNING,       // Enemy spawning and firing
+        COLLISIONS,     // Including dropping destroyed entities
+        RENDER,         // Placing or drawing sprites
+        UI              // Score and lives
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final PhaseHistogram[] HISTOGRAMS = new PhaseHistogram[PHASES.length];
+
+    static {
+        for (int i = 0; i < HISTOGRAMS.length; i++) {
+            HISTOGRAMS[i] = new PhaseHistogram();
+        }
+    }
+
+    private static boolean enabled = false;
+
+    /*
+    * Turns recording on or off. Turning it on starts from empty histograms.
+    * */
+    public static void setEnabled(boolean enabled) {
+        if (enabled && !FrameProfiler.enabled) {
+            reset();
+        }
+        FrameProfiler.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /*
+    * Start time of a phase, or 0 while disabled.
+    * */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /*
+    * Records the time since start() against a phase.
+    * */
+    public static void stop(Phase phase, long start) {
+        if (enabled) {
+            HISTOGRAMS[phase.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    public static PhaseHistogram getHistogram(Phase phase) {
+        return HISTOGRAMS[phase.ordinal()];
+    }
+
+    public static void reset() {
+        for (PhaseHistogram histogram : HISTOGRAMS) {
+            histogram.reset();
+        }
+    }
+
+    /*
+    * One line per phase with p50, p99 and max in microseconds.
+    * */
+    public static String getSummary() {
+        StringBuilder summary = new StringBuilder(String.format("%-11s %8s %8s %8s%n", "phase (us)", "p50", "p99", "max"));
+
+        for (Phase phase : PHASES) {
+            PhaseHistogram histogram = getHistogram(phase);
+            summary.append(String.format("%-11s %8.1f %8.1f %8.1f%n",
+                    phase.name().toLowerCase(),
+                    histogram.percentile(0.50) / 1000.0,
+                    histogram.percentile(0.99) / 1000.0,
+                    histogram.getMax() / 1000.0));
+        }
+        return summary.toString();
+    }
+
+    /*
+    * Writes every phase's statistics to a CSV file, in microseconds.
+    * */
+    public static void writeCsv(Path file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file))) {
+            writer.println("phase,count,mean_us,p50_us,p99_us,max_us");
+
+            for (Phase phase : PHASES) {
+                PhaseHistogram histogram = getHistogram(phase);
+                writer.printf(Locale.ROOT, "%s,%d,%.3f,%.3f,%.3f,%.3f%n",
+                        phase.name().toLowerCase(),
+                        histogram.getCount(),
+                        histogram.getMean() / 1000.0,
+                        histogram.percentile(0.50) / 1000.0,
+                        histogram.percentile(0.99) / 1000.0,
+                        histogram.getMax() / 1000.0);
+            }
+        }
+    }
+}
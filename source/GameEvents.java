@@ -0,0 +1,158 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+* GameEvents
+* Java Flight Recorder events for game activity, so frame spikes can be
+* lined up against GC, allocation and gameplay in JDK Mission Control.
+* Start a recording with e.g.:
+*   java -XX:StartFlightRecording=filename=game.jfr ...
+* Every helper checks whether its event is enabled before filling it in.
+* With recording off the JIT removes the unused event object, so the
+* calls cost close to nothing.
+* */
+public class GameEvents {
+
+    @Name("pizza.Frame")
+    @Label("Frame")
+    @Category({"Pizza Time", "Rendering"})
+    @Description("One display frame: the simulation ticks it ran and the render")
+    @StackTrace(false)
+    public static class FrameEvent extends Event {
+        @Label("Ticks")
+        public int ticks;
+
+        @Label("Enemies")
+        public int enemies;
+
+        @Label("Enemy Projectiles")
+        public int enemyProjectiles;
+
+        @Label("Player Projectiles")
+        public int playerProjectiles;
+
+        @Label("Power-ups")
+        public int powerUps;
+
+        @Label("Despawns")
+        @Description("Entities removed during this frame's ticks")
+        public int despawns;
+    }
+
+    @Name("pizza.EnemySpawn")
+    @Label("Enemy Spawn")
+    @Category({"Pizza Time", "Gameplay"})
+    @StackTrace(false)
+    static class EnemySpawnEvent extends Event {
+        @Label("Lane X")
+        int laneX;
+
+        @Label("Direction")
+        int direction;
+    }
+
+    @Name("pizza.EnemyHit")
+    @Label("Enemy Hit")
+    @Category({"Pizza Time", "Gameplay"})
+    @Description("A player projectile destroyed an enemy")
+    @StackTrace(false)
+    static class EnemyHitEvent extends Event {
+        @Label("X")
+        double x;
+
+        @Label("Y")
+        double y;
+
+        @Label("Score")
+        int score;
+    }
+
+    @Name("pizza.PlayerDamage")
+    @Label("Player Damage")
+    @Category({"Pizza Time", "Gameplay"})
+    @StackTrace(false)
+    static class PlayerDamageEvent extends Event {
+        @Label("Lives Left")
+        int livesLeft;
+    }
+
+    @Name("pizza.PowerUp")
+    @Label("Power-up Pickup")
+    @Category({"Pizza Time", "Gameplay"})
+    @StackTrace(false)
+    static class PowerUpEvent extends Event {
+        @Label("Type")
+        String type;
+    }
+
+    @Name("pizza.GameOver")
+    @Label("Game Over")
+    @Category({"Pizza Time", "Gameplay"})
+    @StackTrace(false)
+    static class GameOverEvent extends Event {
+        @Label("Score")
+        int score;
+    }
+
+    @Name("pizza.Reset")
+    @Label("Reset")
+    @Category({"Pizza Time", "Gameplay"})
+    @Description("Clearing the world for a new game")
+    @StackTrace(false)
+    static class ResetEvent extends Event {
+        @Label("Entities Removed")
+        int entitiesRemoved;
+    }
+
+    static void enemySpawned(int laneX, int direction) {
+        EnemySpawnEvent event = new EnemySpawnEvent();
+
+        if (event.isEnabled()) {
+            event.laneX = laneX;
+            event.direction = direction;
+            event.commit();
+        }
+    }
+
+    static void enemyHit(double x, double y, int score) {
+        EnemyHitEvent event = new EnemyHitEvent();
+
+        if (event.isEnabled()) {
+            event.x = x;
+            event.y = y;
+            event.score = score;
+            event.commit();
+        }
+    }
+
+    static void playerDamaged(int livesLeft) {
+        PlayerDamageEvent event = new PlayerDamageEvent();
+
+        if (event.isEnabled()) {
+            event.livesLeft = livesLeft;
+            event.commit();
+        }
+    }
+
+    static void powerUpCollected(EntityType type) {
+        PowerUpEvent event = new PowerUpEvent();
+
+        if (event.isEnabled()) {
+            event.type = type.name();
+            event.commit();
+        }
+    }
+
+    static void gameOver(int score) {
+        GameOverEvent event = new GameOverEvent();
+
+        if (event.isEnabled()) {
+            event.score = score;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+import javafx.scene.Group;
+import javafx.scene.layout.Pane;
+
+/*
+* GameLayers
+* Splits the game pane into one group per kind of node, stacked back to front:
+* - Background
+* - Batched entity canvas (canvas render mode only)
+* - Power-ups
+* - Enemies
+* - Enemy projectiles
+* - Player projectiles
+* - Effects (explosions and particles)
+* - Player and pepper-shot clones
+* Each kind only ever searches or clears its own layer, so the cost of
+* adding, removing or resetting sprites doesn't grow with how many
+* unrelated nodes are on screen. Entity layers are looked up by the
+* EntityStore id of the entities they draw.
+* */
+public class GameLayers {
+
+    public final Group background = new Group();
+    public final Group batched = new Group();
+    public final Group powerUps = new Group();
+    public final Group enemies = new Group();
+    public final Group enemyProjectiles = new Group();
+    public final Group playerProjectiles = new Group();
+    public final Group effects = new Group();
+    public final Group player = new Group();
+
+    // Entity layers indexed by store id, matching World.getStores()
+    private final Group[] entityLayers = {enemies, enemyProjectiles, playerProjectiles, powerUps};
+
+    public GameLayers(Pane gamePane) {
+        gamePane.getChildren().addAll(background, batched, powerUps, enemies,
+                enemyProjectiles, playerProjectiles, effects, player);
+    }
+
+    /*
+    * Layer holding the sprites of one entity store.
+    * */
+    public Group forStore(int storeId) {
+        return entityLayers[storeId];
+    }
+
+    /*
+    * Removes every entity sprite at once, one clear per layer.
+    * */
+    public void clearEntities() {
+        for (Group layer : entityLayers) {
+            layer.getChildren().clear();
+        }
+    }
+}
@@ -2,283 +2,397 @@ import javafx.animation.AnimationTimer;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.Pane;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
 /*
 * GameManager
-* Core game logic manager. Handles:
-* - Player input and movement
-* - Player firing mechanics
-* - Enemy spawning and firing
-* - Power-up spawning
-* - Game difficulty scaling
-* - Game reset
+* JavaFX view and driver for the headless World simulation. Handles:
+* - Forwarding player input to the simulation
+* - Running the simulation at a fixed 120 Hz regardless of the display
+*   refresh rate
+* - Creating, drawing and removing sprites for simulated entities
+* - Explosions, particle effects, sounds, flashes and pepper-shot clones
+* - Game start and reset
+* - The frame profiler overlay (F3 toggles, F4 writes a CSV)
+* - Flight Recorder frame events
+* - Recording per-tick input for exact replays
+* - Rewinding (Backspace) and quick save/load (F5/F9) through snapshots
+* Sprites are drawn interpolated between simulation ticks, either as one
+* node per entity or batched into a single canvas (see RenderMode).
 * */
-public class GameManager {
+public class GameManager implements WorldListener {
+
+    // Longest frame the simulation will catch up on, so a long stall doesn't spiral
+    private static final long MAX_FRAME_NANOS = 250_000_000L;
 
     // Core scene layers and shared state
-    private final Pane gamePane;
+    private final GameLayers layers;
     private final Pane uiPane;
+    private final BackgroundManager backgroundManager;
     private final UIManager uiManager;
     private final GameState gameState;
+    private final World world;
+
+    // How gameplay entities are drawn, and the canvas used in CANVAS mode
+    private final RenderMode renderMode;
+    private final CanvasRenderer canvasRenderer;
+
+    // Explosion debris and hit sparks, batched into one canvas
+    private final ParticleLayer particleLayer;
+
+    // Sprite drawing each live simulation entity, by store id and handle slot.
+    // Only used in NODES mode.
+    // Slots are dense and reused, so these arrays stay small.
+    private final EntitySprite[][] spritesBySlot = new EntitySprite[4][64];
+
+    // Sprites of entities removed this frame, taken off their layers together
+    // once the frame's ticks are done. Removing nodes one at a time would
+    // search the layer's child list for each.
+    private final Set<EntitySprite> despawnedSprites = new HashSet<>();
+    private int despawnedLayers = 0;    // Bit per store id with despawned sprites
 
-    // Tracks currently pressed keys for smooth movement
-    private final Set<KeyCode> keysPressed = new HashSet<>();
+    // Per-tick input recording, null unless recording
+    private InputRecorder recorder;
+    private Path recordingFile;
+    private int pendingCommands = 0;    // Start/reset commands to record with the next tick
 
-    // Active game entities tracked separately from scene graph
-    private final Set<Enemy> activeEnemies = new HashSet<>();
-    private final Set<EnemyProjectile> activeEnemyProjectiles = new HashSet<>();
-    private final Set<Projectile> activePlayerProjectiles = new HashSet<>();
+    // Delayed view effects such as canvas explosion expiry, advanced once per tick
+    private final TimingWheel effectTimers = new TimingWheel(32);
 
-    // Horizontal offsets used for multi-shot (pepper power-up)
-    private final Set<Double> fireOffsets = new HashSet<>();
+    // Snapshot history for rewinding: 10 s, one snapshot every quarter second
+    private static final long REWIND_MILLIS = 10000;
+    private final SnapshotRing snapshots = new SnapshotRing(REWIND_MILLIS, 30, 64 * 1024);
+    private static final Path QUICK_SAVE_FILE = Path.of("quicksave.snapshot");
 
-    private AnimationTimer gameTimer;
+    // Per-phase frame timing shown on the UI layer
+    private final ProfilerOverlay profilerOverlay;
+
+    // Single master clock driving the simulation and rendering
+    private final AnimationTimer gameTimer;
+
+    // Fixed-timestep bookkeeping
+    private long lastFrameNanos = -1;   // AnimationTimer timestamp of the previous frame
+    private long accumulatorNanos = 0;  // Real time not yet simulated
 
     // Main player sprite and optional visual clones
     private PizzaSprite pizzaMain;
     private PizzaSprite leftClone;
     private PizzaSprite rightClone;
 
-    // Cached space key state to prevent repeated key events
-    private boolean spacePressed = false;
-
-    // Timing values used for cooldowns and difficulty scaling
-    private long timeSinceLastFired = 0;
-    private long timeSinceLastSpawned = 0;
-    private long timeSincePowerUpLastSpawned = 0;
-    private long lastSpawnDifficultyIncrease = 0;
-    private long FIRE_COOLDOWN = 750;
-    private long SPAWN_COOLDOWN = 1700;
-    private final long POWER_UP_SPAWN_COOLDOWN = 20000;
-
     // Callback used to show the continue / game-over screen
     private final Runnable showContinueScreenCallback;
 
     public GameManager(
-            Pane gamePane,
+            GameLayers layers,
             Pane uiPane,
+            BackgroundManager backgroundManager,
             UIManager uiManager,
             GameState gameState,
+            RenderMode renderMode,
+            long seed,
             Runnable showContinueScreenCallback) {
-        this.gamePane = gamePane;
+        this.layers = layers;
         this.uiPane = uiPane;
+        this.backgroundManager = backgroundManager;
         this.uiManager = uiManager;
         this.gameState = gameState;
         this.showContinueScreenCallback = showContinueScreenCallback;
+        this.world = new World(gameState, this, seed);
+        this.renderMode = renderMode;
+
+        // Canvas sits above the background and below the player
+        this.canvasRenderer = (renderMode == RenderMode.CANVAS) ? new CanvasRenderer(layers.batched, effectTimers) : null;
+        this.particleLayer = new ParticleLayer(layers.effects);
+        this.profilerOverlay = new ProfilerOverlay(uiPane, particleLayer.getParticles());
+
+        gameTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                handleFrame(now);
+            }
+        };
     }
 
-    // Record key presses for polling-based input handling
-    public void handleKeyPress(KeyCode code) {
-        keysPressed.add(code);
+    /*
+    * Starts the master clock. The background scrolls from this point on,
+    * including on the title and game-over screens.
+    * */
+    public void startClock() {
+        gameTimer.start();
+    }
 
-        if (code == KeyCode.SPACE) {
-            spacePressed = true;
+    // Forward key presses to the simulation's polled input state
+    public void handleKeyPress(KeyCode code) {
+        switch (code) {
+            case F3 -> profilerOverlay.toggle();
+            case F4 -> profilerOverlay.dumpCsv();
+            case BACK_SPACE -> rewind();
+            case F5 -> quickSave();
+            case F9 -> quickLoad();
+            default -> setKeyState(code, true);
         }
     }
 
     public void handleKeyRelease(KeyCode code) {
-        keysPressed.remove(code);
+        setKeyState(code, false);
+    }
 
-        if (code == KeyCode.SPACE) {
-            spacePressed = false;
+    private void setKeyState(KeyCode code, boolean pressed) {
+        switch (code) {
+            case LEFT -> world.setMoveLeft(pressed);
+            case RIGHT -> world.setMoveRight(pressed);
+            case SPACE -> world.setFiring(pressed);
+            default -> {
+            }
         }
     }
 
     /*
-    * Initializes game state and starts the main game loop.
+    * Initializes game state and starts the simulation.
     * */
     public void startGame() {
-        lastSpawnDifficultyIncrease = System.currentTimeMillis();
 
-        pizzaMain = new PizzaSprite((384 - (75 / 2.0)), 800);
-        gamePane.getChildren().add(pizzaMain);
+        // Allocate pooled projectiles and effects before gameplay begins
+        PoolManager.prewarm();
+
+        world.start();
+        pendingCommands |= InputRecorder.COMMAND_START;
+
+        Hitbox player = world.getPlayer();
+        pizzaMain = new PizzaSprite(player.x, player.y);
+        layers.player.getChildren().add(pizzaMain);
         uiManager.setupGameUI();
         uiManager.updateLives();
-
-        gameTimer = new AnimationTimer() {
-            @Override
-            public void handle(long l) {
-                updateGameLoop();
-            }
-        };
-        gameTimer.start();
     }
 
     /*
-    * Main per-frame update method.
+    * Called by the master clock once per display frame.
+    * Runs as many fixed simulation ticks as real time has elapsed,
+    * then draws every sprite interpolated between its last two ticks.
     * */
-    private void updateGameLoop() {
-        long now = System.currentTimeMillis();
+    private void handleFrame(long frameNanos) {
+        GameEvents.FrameEvent event = new GameEvents.FrameEvent();
+        event.begin();
 
-        updateDifficulty(now);
-        handlePlayerMovement();
-        handlePlayerFiring(now);
-        handleEnemySpawning(now);
-        handlePowerUpSpawning(now);
+        if (lastFrameNanos < 0) {
+            lastFrameNanos = frameNanos;
+        }
 
-        // Remove projectiles that have already left the scene
-        activeEnemyProjectiles.removeIf(enemyProjectile -> !gamePane.getChildren().contains(enemyProjectile));
-        activePlayerProjectiles.removeIf(projectile -> !gamePane.getChildren().contains(projectile));
+        accumulatorNanos += Math.min(frameNanos - lastFrameNanos, MAX_FRAME_NANOS);
+        lastFrameNanos = frameNanos;
+        particleLayer.beginFrame();
 
-        uiManager.updateScore();
-        uiManager.updateLives();
+        int ticks = 0;
+        int despawns = 0;
+        while (accumulatorNanos >= World.TICK_NANOS) {
+            backgroundManager.update(World.TICK_SECONDS);
+            if (recorder != null) {
+                recorder.record(world.getInputMask() | pendingCommands);
+            }
+            pendingCommands = 0;
+
+            world.tick();
+            despawns += world.getDespawnsLastTick();
+            effectTimers.advance();
+            particleLayer.update(World.TICK_SECONDS);
+            accumulatorNanos -= World.TICK_NANOS;
+
+            if (world.isRunning()) {
+                snapshots.record(world);
+            }
+            ticks++;
+        }
 
-        // Assign collision handling to a dedicated manager
-        CollisionManager.update(
-                uiManager,
-                gamePane,
-                uiPane,
-                pizzaMain,
-                gameState,
-                uiManager.getScoreText(),
-                uiManager.getHighScoreText(),
-                uiManager.getLifeIcon1(),
-                uiManager.getLifeIcon2(),
-                uiManager.getLifeIcon3(),
-                gameTimer,
-                showContinueScreenCallback,
-                activeEnemies,
-                newCooldown -> FIRE_COOLDOWN = newCooldown,
-                this::enablePepperShot,
-                this::disablePepperShot);
+        removeDespawnedSprites();
+        render((double) accumulatorNanos / World.TICK_NANOS);
+        AudioMixer.mix(frameNanos);
+        profilerOverlay.update(frameNanos);
+
+        // Report the frame to Flight Recorder, if it is recording
+        if (event.shouldCommit()) {
+            event.ticks = ticks;
+            event.enemies = world.getEnemies().size();
+            event.enemyProjectiles = world.getEnemyProjectiles().size();
+            event.playerProjectiles = world.getPlayerProjectiles().size();
+            event.powerUps = world.getPowerUps().size();
+            event.despawns = despawns;
+            event.commit();
+        }
     }
 
     /*
-    * Gradually increases difficulty by spawning enemies faster.
+    * Draws every sprite between its previous and current tick position.
+    * 'alpha' is how far the current frame is into the next tick (0 to 1).
     * */
-    private void updateDifficulty(long now) {
-        if (now - lastSpawnDifficultyIncrease >= 15000 && SPAWN_COOLDOWN > 1000) {
-            SPAWN_COOLDOWN -= 100;
-            lastSpawnDifficultyIncrease = now;
+    private void render(double alpha) {
+        backgroundManager.render(alpha);
+
+        if (!world.isStarted()) {
+            return;
+        }
+
+        long start = FrameProfiler.start();
+        Hitbox player = world.getPlayer();
+        pizzaMain.place(player.interpolateX(alpha), player.interpolateY(alpha));
+
+        if (renderMode == RenderMode.CANVAS) {
+            canvasRenderer.draw(world, alpha);
+        } else {
+            renderNodes(alpha);
         }
+        particleLayer.draw();
+        FrameProfiler.stop(FrameProfiler.Phase.RENDER, start);
+
+        start = FrameProfiler.start();
+        uiManager.updateScore();
+        uiManager.updateLives();
+        FrameProfiler.stop(FrameProfiler.Phase.UI, start);
     }
 
     /*
-    * Moves the player while keeping all visible sprites on-screen,
-    * including pepper-shot clones.
+    * Copies each store's interpolated positions onto its sprites in one pass.
     * */
-    private void handlePlayerMovement() {
-        double dx = 0;
-        double dy = 0;
-        double speed = 3;
-
-        if (keysPressed.contains(KeyCode.LEFT)) dx -= speed;
-        if (keysPressed.contains(KeyCode.RIGHT)) dx += speed;
-
-        double mainX = pizzaMain.getX();
-        double mainY = pizzaMain.getY();
-        double mainWidth = pizzaMain.getBoundsInParent().getWidth();
-        double mainHeight = pizzaMain.getBoundsInParent().getHeight();
-
-        // Determine the furthest visual extents due to clone offsets
-        double leftOffset = 0;
-        double rightOffset = 0;
-
-        if (leftClone != null)
-            leftOffset = fireOffsets.stream().filter(o -> o < 0).min(Double::compareTo).orElse(-80.0);
-        if (rightClone != null)
-            rightOffset = fireOffsets.stream().filter(o -> o > 0).max(Double::compareTo).orElse(80.0);
-
-        double leftEdge = mainX + leftOffset;
-        double rightEdge = mainX + mainWidth + rightOffset;
-        double topEdge = mainY;
-        double bottomEdge = mainY + mainHeight;
-
-        // Clamp movement to pane bounds
-        if (leftEdge + dx < 0) dx += -(leftEdge + dx);
-        if (rightEdge + dx > gamePane.getWidth()) dx -= (rightEdge + dx - gamePane.getWidth());
-
-        if (topEdge + dy < 0) dy += -(topEdge + dy);
-        if (bottomEdge + dy > gamePane.getHeight()) dy -= (bottomEdge + dy - gamePane.getHeight());
-
-        pizzaMain.setX(mainX + dx);
-        pizzaMain.setY(mainY + dy);
+    private void renderNodes(double alpha) {
+        for (EntityStore store : world.getStores()) {
+            EntitySprite[] sprites = spritesBySlot[store.getStoreId()];
+
+            for (int i = 0; i < store.size(); i++) {
+                sprites[store.slot(i)].place(store.interpolateX(i, alpha), store.interpolateY(i, alpha));
+            }
+        }
     }
 
     /*
-    * Handles player firing, including multi-shot offsets.
+    * Creates the sprite for a newly spawned entity.
+    * Projectiles come from pools; other sprites are created as needed.
+    * The canvas draws straight from the stores, so it needs no sprite.
     * */
-    private void handlePlayerFiring(long now) {
-        if (!spacePressed || now - timeSinceLastFired < FIRE_COOLDOWN) {
+    @Override
+    public void entitySpawned(EntityType type, int handle) {
+        if (renderMode == RenderMode.CANVAS) {
             return;
         }
 
-        double baseX = pizzaMain.getX();
-        double baseY = pizzaMain.getY();
-        double halfWidth = pizzaMain.getFitWidth() / 2;
+        EntitySprite sprite = switch (type) {
+            case PLAYER -> new PizzaSprite(0, 0);
+            case ENEMY -> new Enemy();
+            case PLAYER_PROJECTILE -> PoolManager.PLAYER_PROJECTILES.acquire();
+            case ENEMY_PROJECTILE -> PoolManager.ENEMY_PROJECTILES.acquire();
+            case SALT -> new Salt();
+            case PEPPER -> new Pepper();
+            case EXTRA_LIFE -> new ExtraLife();
+        };
 
-        // Fire center shot
-        fireProjectile(baseX + halfWidth, baseY);
+        int storeId = EntityStore.storeIdOf(handle);
+        int slot = EntityStore.slotOfHandle(handle);
+        EntitySprite[] sprites = spritesBySlot[storeId];
 
-        // Fire additional shots if power-up is active
-        for (double offset : fireOffsets) {
-            fireProjectile(baseX + halfWidth + offset, baseY);
+        if (slot >= sprites.length) {
+            sprites = Arrays.copyOf(sprites, Math.max(slot + 1, sprites.length * 2));
+            spritesBySlot[storeId] = sprites;
         }
 
-        SoundManager.playBlasterSound();
-        timeSinceLastFired = now;
+        // Draw at the spawn position straight away
+        EntityStore store = world.getStores()[storeId];
+        int index = store.indexOf(handle);
+        sprite.place(store.x[index], store.y[index]);
+
+        layers.forStore(storeId).getChildren().add(sprite);
+        sprites[slot] = sprite;
     }
 
-    /*
-    * Spawns enemies and lets active enemies fire.
-    * */
-    private void handleEnemySpawning(long now) {
-        if (now - timeSinceLastSpawned >= SPAWN_COOLDOWN) {
-            Enemy enemy = new Enemy();
-            enemy.spawn(gamePane);
-            activeEnemies.add(enemy);
-            timeSinceLastSpawned = now;
+    @Override
+    public void entityRemoved(EntityType type, int handle) {
+        if (renderMode == RenderMode.CANVAS) {
+            return;
         }
 
-        // Remove enemies that have left the scene
-        activeEnemies.removeIf(enemy -> !gamePane.getChildren().contains(enemy));
+        int storeId = EntityStore.storeIdOf(handle);
+        EntitySprite[] sprites = spritesBySlot[storeId];
+        int slot = EntityStore.slotOfHandle(handle);
+        EntitySprite sprite = sprites[slot];
 
-        for (Enemy enemy : activeEnemies) {
-            enemy.fire(gamePane, activeEnemyProjectiles);
+        if (sprite != null) {
+            despawnedSprites.add(sprite);
+            despawnedLayers |= 1 << storeId;
+            sprites[slot] = null;
         }
     }
 
-    private void fireProjectile(double x, double y) {
-        Projectile projectile = new Projectile();
-        projectile.fire(x, y, gamePane);
-        activePlayerProjectiles.add(projectile);
+    /*
+    * Takes every sprite despawned this frame off its layer, one pass per
+    * layer that lost any. Pooled sprites go back to their pools as they
+    * leave the scene graph.
+    * */
+    private void removeDespawnedSprites() {
+        if (despawnedSprites.isEmpty()) {
+            return;
+        }
+
+        for (int storeId = 0; storeId < spritesBySlot.length; storeId++) {
+            if ((despawnedLayers & (1 << storeId)) != 0) {
+                layers.forStore(storeId).getChildren().removeAll(despawnedSprites);
+            }
+        }
+        despawnedSprites.clear();
+        despawnedLayers = 0;
     }
 
     /*
-    * Randomly spawns one of several power-ups.
+    * Spawns a short-lived explosion effect at a given position: a particle
+    * burst, plus the explosion image in canvas mode, where it costs one draw.
     * */
-    private void handlePowerUpSpawning(long now) {
-        if (now - timeSincePowerUpLastSpawned >= POWER_UP_SPAWN_COOLDOWN) {
-            double random = Math.random();
-
-            if (random < 0.10) {
-                ExtraLife extraLife = new ExtraLife();
-                extraLife.spawn(gamePane);
-            } else if (random < 0.55) {
-                Pepper pepper = new Pepper();
-                pepper.spawn(gamePane);
-            } else {
-                Salt salt = new Salt();
-                salt.spawn(gamePane);
-            }
-            timeSincePowerUpLastSpawned = now;
+    @Override
+    public void explosion(double centerX, double centerY) {
+        particleLayer.explosion(centerX, centerY);
+
+        if (renderMode == RenderMode.CANVAS) {
+            canvasRenderer.addExplosion(centerX, centerY);
         }
     }
 
+    @Override
+    public void playSound(SoundEffect effect) {
+        SoundManager.play(effect);
+    }
+
+    @Override
+    public void playerFlashed() {
+        pizzaMain.flash();
+
+        Hitbox player = world.getPlayer();
+        particleLayer.sparks(player.getCenterX(), player.getCenterY());
+    }
+
+    @Override
+    public void pepperShotChanged(boolean active) {
+        if (active) {
+            enablePepperShot();
+        } else {
+            disablePepperShot();
+        }
+    }
+
+    @Override
+    public void gameOver() {
+        pizzaMain.setVisible(false);
+        showContinueScreenCallback.run();
+    }
+
     /*
-    * Enables triple-shot behavior using visual clones and fire offsets.
+    * Shows the triple-shot slices as visual clones of the player.
     * */
-    public void enablePepperShot() {
+    private void enablePepperShot() {
         if (leftClone != null) {
             return;
         }
 
-        fireOffsets.clear();
-        fireOffsets.add(-80.0);
-        fireOffsets.add(80.0);
-
         leftClone = new PizzaSprite(0, 0);
         rightClone = new PizzaSprite(0, 0);
 
@@ -289,22 +403,20 @@ public class GameManager {
         rightClone.xProperty().bind(pizzaMain.xProperty().add(80));
         rightClone.yProperty().bind(pizzaMain.yProperty());
 
-        gamePane.getChildren().addAll(leftClone, rightClone);
+        layers.player.getChildren().addAll(leftClone, rightClone);
     }
 
     /*
-    * Disables pepper-shot visuals and offsets.
+    * Removes the pepper-shot clones.
     * */
-    public void disablePepperShot() {
-        fireOffsets.clear();
-
+    private void disablePepperShot() {
         if (leftClone != null) {
-            gamePane.getChildren().remove(leftClone);
+            layers.player.getChildren().remove(leftClone);
             leftClone = null;
         }
 
         if (rightClone != null) {
-            gamePane.getChildren().remove(rightClone);
+            layers.player.getChildren().remove(rightClone);
             rightClone = null;
         }
     }
@@ -313,46 +425,119 @@ public class GameManager {
     * Resets game state after game over without touching the background.
     * */
     public void resetGame() {
-        gameState.life = 3;
-        gameState.score = 0;
-        FIRE_COOLDOWN = 750;
-        SPAWN_COOLDOWN = 1700;
-        lastSpawnDifficultyIncrease = System.currentTimeMillis();
+        world.reset();
+        clearEntitySprites();
+        clearEffects();
+        pendingCommands |= InputRecorder.COMMAND_RESET;
+        snapshots.clear();
+
+        Hitbox player = world.getPlayer();
+        pizzaMain.place(player.x, player.y);
+        pizzaMain.setVisible(true);
+
+        uiManager.hideContinueScreen();
+        uiManager.setupGameUI();
+        uiManager.updateLives();
+        uiManager.updateScore();
+    }
 
-        fireOffsets.clear();
+    /*
+    * Drops every entity sprite by clearing the entity layers outright,
+    * rather than removing the sprites the reset despawned one by one.
+    * */
+    private void clearEntitySprites() {
+        layers.clearEntities();
 
-        if (leftClone != null) {
-            gamePane.getChildren().remove(leftClone);
+        for (EntitySprite[] sprites : spritesBySlot) {
+            Arrays.fill(sprites, null);
         }
+        despawnedSprites.clear();
+        despawnedLayers = 0;
+    }
 
-        if (rightClone != null) {
-            gamePane.getChildren().remove(rightClone);
+    /*
+    * Drops every view effect still showing, so none carries over into a
+    * different moment of play.
+    * */
+    private void clearEffects() {
+        particleLayer.clear();
+
+        if (canvasRenderer != null) {
+            canvasRenderer.clearExplosions();
         }
+    }
 
-        // Remove only gameplay entities
-        gamePane.getChildren().removeIf(
-                node ->
-                        node instanceof Enemy ||
-                        node instanceof Projectile ||
-                        node instanceof EnemyProjectile ||
-                        node instanceof Salt ||
-                        node instanceof Pepper ||
-                        node instanceof ExtraLife ||
-                        node instanceof LifeIcon);
-
-        activeEnemies.clear();
-        activeEnemyProjectiles.clear();
-        activePlayerProjectiles.clear();
-
-        pizzaMain.setX(384 - 75 / 2.0);
-        pizzaMain.setY(800);
-        pizzaMain.setVisible(true);
+    /*
+    * Starts recording every tick's input to the given file.
+    * The file is written by stopRecording().
+    * */
+    public void startRecording(Path file) {
+        recorder = new InputRecorder(world.getSeed());
+        recordingFile = file;
+    }
 
-        uiManager.hideContinueScreen();
-        uiManager.setupGameUI();
-        uiManager.updateLives();
-        uiManager.updateScore();
+    /*
+    * Writes the recording, if one is running.
+    * */
+    public void stopRecording() {
+        if (recorder == null) {
+            return;
+        }
 
-        gameTimer.start();
+        try {
+            recorder.write(recordingFile, world);
+            System.out.println("Recorded " + recorder.getTicks() + " ticks to " + recordingFile.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Could not write input recording: " + e.getMessage());
+        }
+        recorder = null;
+    }
+
+    /*
+    * Jumps back about ten seconds. Only during play, so the continue
+    * screen never has to be undone. Disabled while recording, since a
+    * recording only holds input and can't replay a jump in state.
+    * */
+    private void rewind() {
+        if (world.isRunning() && recorder == null && snapshots.rewind(world, REWIND_MILLIS)) {
+            clearEffects();
+        }
+    }
+
+    /*
+    * Saves the current moment of play to a file.
+    * */
+    private void quickSave() {
+        if (!world.isRunning()) {
+            return;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(world.snapshotSize());
+        world.save(buffer);
+
+        try {
+            Files.write(QUICK_SAVE_FILE, Arrays.copyOf(buffer.array(), buffer.position()));
+            System.out.println("Saved snapshot to " + QUICK_SAVE_FILE.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Could not save snapshot: " + e.getMessage());
+        }
+    }
+
+    /*
+    * Restores the moment saved by quickSave(). Disabled while recording,
+    * for the same reason as rewind().
+    * */
+    private void quickLoad() {
+        if (!world.isRunning() || recorder != null || !Files.exists(QUICK_SAVE_FILE)) {
+            return;
+        }
+
+        try {
+            world.restore(ByteBuffer.wrap(Files.readAllBytes(QUICK_SAVE_FILE)));
+            snapshots.clear();
+            clearEffects();
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Quicksave unreadable: " + e.getMessage());
+        }
     }
 }
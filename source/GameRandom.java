@@ -0,0 +1,45 @@
+
+/*
+* GameRandom
+* The simulation's single source of randomness. A seeded SplitMix64
+* generator: the same seed always gives the same sequence, so a game can
+* be reproduced from its seed and inputs. The whole generator is one
+* long, which makes it cheap to save and restore.
+* */
+public class GameRandom {
+
+    private long state;
+
+    public GameRandom(long seed) {
+        this.state = seed;
+    }
+
+    public long nextLong() {
+        long z = (state += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /*
+    * Uniform double in [0, 1).
+    * */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /*
+    * Uniform int in [0, bound).
+    * */
+    public int nextInt(int bound) {
+        return (int) (nextDouble() * bound);
+    }
+
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state;
+    }
+}
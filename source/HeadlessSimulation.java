@@ -0,0 +1,116 @@
+import java.io.IOException;
+import java.nio.file.Path;
+
+/*
+* HeadlessSimulation
+* Runs the game simulation without JavaFX or a display, as fast as the CPU
+* allows. By default an autopilot holds fire and sweeps the player back
+* and forth, starting a new game after each game over. Prints the tick
+* rate and game results. Run it from the project root with the assets on
+* the classpath, since collisions use masks built from the sprites, e.g.:
+*   java -cp out:. HeadlessSimulation 1000000
+*   java -cp out:. HeadlessSimulation 1000000 --seed 42 --record autopilot.rec
+* With --replay it instead plays back a recording made by the game (or by
+* --record) and checks that it ends in exactly the recorded state:
+*   java -cp out:. HeadlessSimulation --replay session.rec
+* */
+public class HeadlessSimulation {
+
+    public static void main(String[] args) throws IOException {
+        long ticks = 120L * 60 * 10;    // Ten simulated minutes by default
+        long seed = System.nanoTime();
+        Path recordFile = null;
+        Path replayFile = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--record" -> recordFile = Path.of(args[++i]);
+                case "--replay" -> replayFile = Path.of(args[++i]);
+                default -> ticks = Long.parseLong(args[i]);
+            }
+        }
+
+        InputReplay replay = (replayFile != null) ? InputReplay.read(replayFile) : null;
+        if (replay != null) {
+            seed = replay.getSeed();
+            ticks = replay.getTickCount();
+        }
+
+        GameState state = new GameState();
+        int[] gamesPlayed = {0};
+        long[] totalScore = {0};
+
+        World world = new World(state, new WorldListener() {
+            @Override
+            public void gameOver() {
+                gamesPlayed[0]++;
+                totalScore[0] += state.score;
+            }
+        }, seed);
+
+        InputRecorder recorder = (recordFile != null) ? new InputRecorder(seed) : null;
+
+        long startNanos = System.nanoTime();
+
+        if (replay != null) {
+            while (replay.hasNext()) {
+                replay.step(world);
+            }
+        } else {
+            runAutopilot(world, ticks, recorder);
+        }
+
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+
+        System.out.printf("ticks             %d%n", ticks);
+        System.out.printf("simulated time    %.1f s%n", ticks * World.TICK_SECONDS);
+        System.out.printf("wall time         %.3f s%n", elapsedSeconds);
+        System.out.printf("ticks per second  %.0f%n", ticks / elapsedSeconds);
+        System.out.printf("games finished    %d%n", gamesPlayed[0]);
+        System.out.printf("average score     %.1f%n", (gamesPlayed[0] > 0) ? (double) totalScore[0] / gamesPlayed[0] : 0.0);
+        System.out.printf("high score        %d%n", state.highScore);
+        System.out.printf("despawns per tick %.2f%n", ticks > 0 ? (double) world.getDespawnsTotal() / ticks : 0.0);
+        System.out.printf("checksum          %016x%n", world.checksum());
+
+        if (recorder != null) {
+            recorder.write(recordFile, world);
+            System.out.println("recorded to       " + recordFile.toAbsolutePath());
+        }
+
+        if (replay != null) {
+            boolean matches = replay.matches(world);
+            System.out.println("replay            " + (matches ? "matches recording" : "DIFFERS from recording"));
+
+            if (!matches) {
+                System.exit(1);
+            }
+        }
+    }
+
+    /*
+    * Holds fire and changes direction every two simulated seconds,
+    * starting a new game after each game over.
+    * */
+    private static void runAutopilot(World world, long ticks, InputRecorder recorder) {
+        int commands = InputRecorder.COMMAND_START;
+        world.start();
+
+        for (long tick = 0; tick < ticks; tick++) {
+            boolean left = (world.getSimulationMillis() / 2000) % 2 == 0;
+            world.setInputMask(World.INPUT_FIRE | (left ? World.INPUT_LEFT : World.INPUT_RIGHT));
+
+            if (recorder != null) {
+                recorder.record(world.getInputMask() | commands);
+            }
+            commands = 0;
+
+            world.tick();
+
+            if (!world.isRunning()) {
+                world.reset();
+                commands = InputRecorder.COMMAND_RESET;
+            }
+        }
+    }
+}
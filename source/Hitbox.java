@@ -0,0 +1,67 @@
+
+/*
+* Hitbox
+* Simulated position and collision rectangle for a single entity, stored
+* as primitive doubles so collision tests never have to query or allocate
+* Bounds objects. Entities move their hitbox once per simulation tick;
+* the view then draws the sprite between the previous and current
+* position so motion stays smooth at any display refresh rate.
+* */
+public class Hitbox {
+    public double x;    // Left edge in play field coordinates
+    public double y;    // Top edge in play field coordinates
+    public double w;    // Width
+    public double h;    // Height
+
+    // Position at the start of the current tick, used for render interpolation
+    public double previousX;
+    public double previousY;
+
+    /*
+    * Places the hitbox without any motion to interpolate, e.g. when spawning.
+    * */
+    public void place(double x, double y, double w, double h) {
+        this.x = x;
+        this.y = y;
+        this.w = w;
+        this.h = h;
+        previousX = x;
+        previousY = y;
+    }
+
+    /*
+    * Remembers the current position before the entity moves this tick.
+    * */
+    public void savePosition() {
+        previousX = x;
+        previousY = y;
+    }
+
+    /*
+    * Position between the previous and current tick.
+    * 'alpha' is how far the display frame is into the next tick (0 to 1).
+    * */
+    public double interpolateX(double alpha) {
+        return previousX + (x - previousX) * alpha;
+    }
+
+    public double interpolateY(double alpha) {
+        return previousY + (y - previousY) * alpha;
+    }
+
+    public double getCenterX() {
+        return x + w / 2;
+    }
+
+    public double getCenterY() {
+        return y + h / 2;
+    }
+
+    public double getMaxX() {
+        return x + w;
+    }
+
+    public double getMaxY() {
+        return y + h;
+    }
+}
@@ -0,0 +1,71 @@
+import javafx.scene.image.Image;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+* ImageCache
+* Central cache of decoded sprite images. Each asset is decoded once on
+* first request and the same Image is shared by every sprite that uses it,
+* instead of every bullet, enemy and pickup decoding its own copy.
+* Reports cache hits and the memory held by decoded images.
+* */
+public class ImageCache {
+
+    private static final Map<String, Image> IMAGES = new HashMap<>();
+
+    // Statistics
+    private static long hits = 0;
+    private static long misses = 0;
+    private static long residentBytes = 0;
+
+    /*
+    * Returns the decoded image for a resource path such as
+    * "/assets/sprite/enemy.png", decoding it on first use.
+    * */
+    public static Image get(String resourcePath) {
+        Image image = IMAGES.get(resourcePath);
+
+        if (image != null) {
+            hits++;
+            return image;
+        }
+
+        misses++;
+        image = new Image(ImageCache.class.getResource(resourcePath).toExternalForm());
+        IMAGES.put(resourcePath, image);
+
+        // Decoded images are stored as 4 bytes per pixel
+        residentBytes += (long) image.getWidth() * (long) image.getHeight() * 4;
+        return image;
+    }
+
+    /*
+    * Adds an image decoded elsewhere, e.g. by AssetLoader at startup.
+    * */
+    public static void put(String resourcePath, Image image) {
+        if (IMAGES.put(resourcePath, image) == null) {
+            residentBytes += (long) image.getWidth() * (long) image.getHeight() * 4;
+        }
+    }
+
+    public static long getHits() {
+        return hits;
+    }
+
+    public static long getMisses() {
+        return misses;
+    }
+
+    public static long getResidentBytes() {
+        return residentBytes;
+    }
+
+    /*
+    * Summary of cache statistics.
+    * */
+    public static String getStats() {
+        return "images=" + IMAGES.size() + " hits=" + hits + " misses=" + misses
+                + " residentBytes=" + residentBytes;
+    }
+}
@@ -0,0 +1,104 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+* InputRecorder
+* Records everything needed to replay a session exactly: the World's seed
+* and, for every tick, the player's input bits plus any start or reset
+* command issued before it. Consecutive ticks with the same bits are
+* stored as one run, so holding a key for a minute costs a few bytes.
+* File layout:
+* - Header: magic "PZRP", format version byte, seed (8 bytes)
+* - Runs: varint bits, varint tick count (count > 0)
+* - End marker: varint 0, varint 0
+* - Trailer: varint ticks, score, high score and lives, then the World
+*   checksum (8 bytes), used by InputReplay to confirm the replay matched
+* */
+public class InputRecorder {
+
+    static final int MAGIC = 0x505A5250;    // "PZRP"
+    static final int VERSION = 1;
+
+    // Commands recorded alongside the World.INPUT_* bits
+    public static final int COMMAND_START = 8;
+    public static final int COMMAND_RESET = 16;
+
+    private final long seed;
+    private final ByteArrayOutputStream runs = new ByteArrayOutputStream();
+
+    private int currentBits = -1;   // Bits of the run being counted, -1 before the first tick
+    private long currentCount = 0;
+    private long ticks = 0;
+
+    public InputRecorder(long seed) {
+        this.seed = seed;
+    }
+
+    /*
+    * Records the input bits (and commands) for the tick about to run.
+    * */
+    public void record(int bits) {
+        if (bits != currentBits) {
+            flushRun();
+            currentBits = bits;
+        }
+        currentCount++;
+        ticks++;
+    }
+
+    private void flushRun() {
+        if (currentCount > 0) {
+            writeVarint(runs, currentBits);
+            writeVarint(runs, currentCount);
+            currentCount = 0;
+        }
+    }
+
+    /*
+    * Writes the recording, ending with the World's state so a replay can
+    * be checked against it.
+    * */
+    public void write(Path file, World world) throws IOException {
+        flushRun();
+
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(seed);
+
+            runs.writeTo(out);
+            writeVarint(out, 0);
+            writeVarint(out, 0);
+
+            GameState state = world.getState();
+            writeVarint(out, ticks);
+            writeVarint(out, state.score);
+            writeVarint(out, state.highScore);
+            writeVarint(out, Math.max(state.life, 0));
+            out.writeLong(world.checksum());
+        }
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    /*
+    * Unsigned LEB128: 7 bits per byte, high bit set on all but the last.
+    * */
+    static void writeVarint(OutputStream out, long value) {
+        try {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/*
+* InputReplay
+* Plays back a file written by InputRecorder. Build the World with
+* getSeed(), then call step() once per tick; it applies the recorded
+* commands and input bits and runs the tick. Replays don't depend on
+* wall-clock time, so they can run as fast as the CPU allows.
+* */
+public class InputReplay {
+
+    private final long seed;
+    private final int[] runBits;
+    private final long[] runCounts;
+
+    // Expected end state from the trailer
+    private final long expectedTicks;
+    private final int expectedScore;
+    private final int expectedHighScore;
+    private final int expectedLife;
+    private final long expectedChecksum;
+
+    private int run = 0;
+    private long ticksLeftInRun;
+
+    private InputReplay(long seed, int[] runBits, long[] runCounts, int runCount,
+                        long expectedTicks, int expectedScore, int expectedHighScore,
+                        int expectedLife, long expectedChecksum) {
+        this.seed = seed;
+        this.runBits = Arrays.copyOf(runBits, runCount);
+        this.runCounts = Arrays.copyOf(runCounts, runCount);
+        this.expectedTicks = expectedTicks;
+        this.expectedScore = expectedScore;
+        this.expectedHighScore = expectedHighScore;
+        this.expectedLife = expectedLife;
+        this.expectedChecksum = expectedChecksum;
+        this.ticksLeftInRun = (runCount > 0) ? this.runCounts[0] : 0;
+    }
+
+    public static InputReplay read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != InputRecorder.MAGIC) {
+                throw new IOException(file + " is not an input recording");
+            }
+            int version = in.readUnsignedByte();
+            if (version != InputRecorder.VERSION) {
+                throw new IOException("Unsupported recording version " + version);
+            }
+            long seed = in.readLong();
+
+            int[] bits = new int[64];
+            long[] counts = new long[64];
+            int runCount = 0;
+
+            while (true) {
+                int runBits = (int) readVarint(in);
+                long runTicks = readVarint(in);
+
+                if (runTicks == 0) {
+                    break;
+                }
+
+                if (runCount == bits.length) {
+                    bits = Arrays.copyOf(bits, runCount * 2);
+                    counts = Arrays.copyOf(counts, runCount * 2);
+                }
+                bits[runCount] = runBits;
+                counts[runCount] = runTicks;
+                runCount++;
+            }
+
+            long ticks = readVarint(in);
+            int score = (int) readVarint(in);
+            int highScore = (int) readVarint(in);
+            int life = (int) readVarint(in);
+            long checksum = in.readLong();
+
+            return new InputReplay(seed, bits, counts, runCount, ticks, score, highScore, life, checksum);
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getTickCount() {
+        return expectedTicks;
+    }
+
+    public boolean hasNext() {
+        return run < runBits.length;
+    }
+
+    /*
+    * Applies the next tick's commands and input, then runs the tick.
+    * */
+    public void step(World world) {
+        int bits = runBits[run];
+
+        if ((bits & InputRecorder.COMMAND_START) != 0) {
+            world.start();
+        }
+        if ((bits & InputRecorder.COMMAND_RESET) != 0) {
+            world.reset();
+        }
+        world.setInputMask(bits);
+        world.tick();
+
+        if (--ticksLeftInRun == 0 && ++run < runBits.length) {
+            ticksLeftInRun = runCounts[run];
+        }
+    }
+
+    /*
+    * Whether the World ended up exactly where the recorded session did.
+    * */
+    public boolean matches(World world) {
+        GameState state = world.getState();
+
+        return state.score == expectedScore
+                && state.highScore == expectedHighScore
+                && Math.max(state.life, 0) == expectedLife
+                && world.checksum() == expectedChecksum;
+    }
+
+    static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+
+            if (b < 0) {
+                throw new EOFException("Truncated input recording");
+            }
+
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in input recording");
+    }
+}
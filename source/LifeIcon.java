@@ -11,7 +11,7 @@ public class LifeIcon extends ImageView {
     // Constructure for the image used in the life bar in the UI
     public LifeIcon(double x, double y) {
 
-        Image lifeIconImage = new Image(getClass().getResource("/assets/sprite/pizza.png").toExternalForm());
+        Image lifeIconImage = ImageCache.get("/assets/sprite/pizza.png");
         this.setImage(lifeIconImage);
         this.setPreserveRatio(true);
         this.setFitWidth(50);
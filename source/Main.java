@@ -3,15 +3,21 @@ import javafx.scene.Group;
 import javafx.scene.Scene;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.*;
+import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
+import javafx.scene.text.Text;
 import javafx.stage.Stage;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 /*
 * Main
 * Entry point for the game. Sets up the stage, scene, game/UI layers,
 * font, input handling, and initializes BackgroundManager, UIManager,
 * and GameManager. Manages game start and restart logic.
+* All assets are preloaded behind a progress bar before the title screen.
 * */
 public class Main extends Application {
 
@@ -26,7 +32,7 @@ public class Main extends Application {
     private boolean gameOver = false;           // Track if game is over
 
     @Override
-    public void start(Stage primaryStage) {
+    public void start(Stage primaryStage) throws IOException {
 
         gameState = new GameState();    // Initialize game state
 
@@ -47,11 +53,53 @@ public class Main extends Application {
         Group gameGroup = new Group(gamePane, uiPane);
         StackPane root = new StackPane(gameGroup);
 
-        // Load custom pixel font for retro style
-        pixelFont = Font.loadFont(getClass().getResource("/assets/custom_font/arcade_font.TTF").toExternalForm(), 35);
+        // Create scene and configure stage
+        Scene scene = new Scene(root);
+        primaryStage.setTitle("Pizza Time");
+        primaryStage.setScene(scene);
+        primaryStage.setResizable(false);
+        primaryStage.setWidth(768);
+        primaryStage.setHeight(1024);
+        primaryStage.setFullScreen(false);
+        primaryStage.show();
+
+        // Loading progress bar, shown until every asset is in memory
+        Rectangle progressFrame = new Rectangle(184, 500, 400, 24);
+        progressFrame.setFill(Color.TRANSPARENT);
+        progressFrame.setStroke(Color.WHITE);
+        Rectangle progressBar = new Rectangle(184, 500, 0, 24);
+        progressBar.setFill(Color.WHITE);
+        Text loadingText = new Text(184, 490, "LOADING");
+        loadingText.setFill(Color.WHITE);
+        uiPane.getChildren().addAll(progressFrame, progressBar, loadingText);
+        root.setStyle("-fx-background-color: black;");
+
+        AssetLoader assetLoader = new AssetLoader();
+        assetLoader.start(
+                progress -> progressBar.setWidth(400 * progress),
+                () -> {
+                    uiPane.getChildren().removeAll(progressFrame, progressBar, loadingText);
+                    showTitleScreen(scene, gamePane, uiPane, assetLoader);
+                },
+                failures -> {
+                    // Stay on the loading screen rather than start with missing assets
+                    System.err.println("Could not load assets:\n" + failures);
+                    loadingText.setText("COULD NOT LOAD ASSETS\n" + failures);
+                    progressBar.setFill(Color.RED);
+                });
+    }
+
+    /*
+    * Builds the game once all assets are loaded and shows the title screen.
+    * */
+    private void showTitleScreen(Scene scene, Pane gamePane, Pane uiPane, AssetLoader assetLoader) {
+
+        // Custom pixel font for retro style
+        pixelFont = assetLoader.getFont("/assets/custom_font/arcade_font.TTF");
 
         // Initialize background scrolling, UI, and game manager
-        backgroundManager = new BackgroundManager(gamePane);
+        GameLayers layers = new GameLayers(gamePane);
+        backgroundManager = new BackgroundManager(gamePane, layers.background);
         uiManager = new UIManager(gamePane, uiPane, gameState, pixelFont);
 
         // Callback to show the "continue / game over" screen
@@ -60,21 +108,23 @@ public class Main extends Application {
             gameOver = true;
         };
 
-        gameManager = new GameManager(gamePane, uiPane, uiManager, gameState, showContinueScreenCallback);
+        // Entity drawing mode, selected with -Drender.mode=canvas
+        RenderMode renderMode = RenderMode.fromSystemProperty();
 
-        // Start scrolling background and display initial title screen
-        backgroundManager.startScrolling();
-        uiManager.setupInitialScreen();
+        // Fixed random seed with -Dgame.seed=<number>, otherwise a new game every run
+        long seed = Long.getLong("game.seed", System.nanoTime());
 
-        // Create scene and configure stage
-        Scene scene = new Scene(root);
-        primaryStage.setTitle("Pizza Time");
-        primaryStage.setScene(scene);
-        primaryStage.setResizable(false);
-        primaryStage.setWidth(768);
-        primaryStage.setHeight(1024);
-        primaryStage.setFullScreen(false);
-        primaryStage.show();
+        gameManager = new GameManager(layers, uiPane, backgroundManager, uiManager, gameState, renderMode, seed, showContinueScreenCallback);
+
+        // Record the session for replay with -Dreplay.record=<file>
+        String recordingFile = System.getProperty("replay.record");
+        if (recordingFile != null) {
+            gameManager.startRecording(Path.of(recordingFile));
+        }
+
+        // Start the master clock (scrolling background) and display initial title screen
+        gameManager.startClock();
+        uiManager.setupInitialScreen();
 
         // Key press handling
         scene.setOnKeyPressed(e -> {
@@ -96,6 +146,7 @@ public class Main extends Application {
                     gameManager.resetGame();
                     gameOver = false;
                 } else if (e.getCode() == KeyCode.ESCAPE) {
+                    gameManager.stopRecording();
                     System.exit(0);
                 }
             }
@@ -107,6 +158,18 @@ public class Main extends Application {
         });
     }
 
+    /*
+    * Called when the window is closed.
+    * */
+    @Override
+    public void stop() {
+
+        // Nothing to save if the window closed while loading
+        if (gameManager != null) {
+            gameManager.stopRecording();
+        }
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
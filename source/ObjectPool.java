@@ -0,0 +1,93 @@
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/*
+* ObjectPool
+* Bounded pool of reusable objects. Objects are handed out with acquire()
+* and returned with release() once they despawn, so steady-state gameplay
+* reuses the same instances instead of allocating new ones.
+* Tracks hits, misses and the high-water mark of objects in use so pool
+* sizes can be tuned.
+* */
+public class ObjectPool<T> {
+
+    private final ArrayDeque<T> free = new ArrayDeque<>();
+    private final Supplier<T> factory;
+    private final int capacity;     // Maximum number of idle objects kept for reuse
+
+    // Statistics
+    private long hits = 0;          // Acquires served from the pool
+    private long misses = 0;        // Acquires that had to allocate
+    private int inUse = 0;
+    private int highWaterMark = 0;  // Most objects in use at the same time
+
+    public ObjectPool(Supplier<T> factory, int capacity) {
+        this.factory = factory;
+        this.capacity = capacity;
+    }
+
+    /*
+    * Fills the pool ahead of time so the first spawns don't allocate.
+    * */
+    public void prewarm(int count) {
+        while (free.size() < Math.min(count, capacity)) {
+            free.push(factory.get());
+        }
+    }
+
+    /*
+    * Returns an idle object, or creates one if the pool is empty.
+    * */
+    public T acquire() {
+        T item = free.poll();
+
+        if (item != null) {
+            hits++;
+        } else {
+            misses++;
+            item = factory.get();
+        }
+
+        inUse++;
+        highWaterMark = Math.max(highWaterMark, inUse);
+        return item;
+    }
+
+    /*
+    * Returns an object to the pool. Objects beyond capacity are dropped
+    * and left to the garbage collector.
+    * */
+    public void release(T item) {
+        inUse = Math.max(0, inUse - 1);
+
+        if (free.size() < capacity) {
+            free.push(item);
+        }
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public int getInUse() {
+        return inUse;
+    }
+
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public int getIdleCount() {
+        return free.size();
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + hits + " misses=" + misses + " inUse=" + inUse
+                + " highWaterMark=" + highWaterMark + " idle=" + free.size() + "/" + capacity;
+    }
+}
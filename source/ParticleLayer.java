@@ -0,0 +1,108 @@
+import javafx.scene.Group;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/*
+* ParticleLayer
+* Draws a ParticleSystem into one canvas over the background and entity layers.
+* Particles are plain squares grouped by palette color, so a frame costs
+* one fill change per color instead of a node, image or animation per
+* effect. Explosions and hit sparks are emitted here as particle bursts.
+* */
+public class ParticleLayer {
+
+    // Most particles alive at once, and most spawned in a single frame
+    private static final int MAX_PARTICLES = 4096;
+    private static final int SPAWN_BUDGET = 512;
+
+    // Palette indices, drawn back to front
+    private static final int SMOKE = 0;
+    private static final int FIRE = 1;
+    private static final int SPARK = 2;
+    private static final Color[] PALETTE = {
+            Color.rgb(90, 80, 70, 0.7),
+            Color.rgb(255, 140, 30),
+            Color.rgb(255, 240, 170)
+    };
+
+    private final Canvas canvas;
+    private final GraphicsContext graphics;
+    private final ParticleSystem particles = new ParticleSystem(MAX_PARTICLES, SPAWN_BUDGET);
+
+    // Whether the canvas still shows the last frame's particles and needs clearing
+    private boolean dirty = false;
+
+    public ParticleLayer(Group layer) {
+        canvas = new Canvas(World.WIDTH, World.HEIGHT);
+        canvas.setMouseTransparent(true);
+        graphics = canvas.getGraphicsContext2D();
+        layer.getChildren().add(canvas);
+    }
+
+    /*
+    * Debris burst for a destroyed enemy or player.
+    * */
+    public void explosion(double centerX, double centerY) {
+        particles.burst(centerX, centerY, 12, 90, 0.8, 10, SMOKE);
+        particles.burst(centerX, centerY, 40, 260, 0.5, 6, FIRE);
+        particles.burst(centerX, centerY, 12, 360, 0.3, 3, SPARK);
+    }
+
+    /*
+    * Small spark burst for a hit that didn't destroy anything.
+    * */
+    public void sparks(double centerX, double centerY) {
+        particles.burst(centerX, centerY, 16, 300, 0.25, 3, SPARK);
+    }
+
+    /*
+    * Starts a new display frame, refilling the spawn budget.
+    * */
+    public void beginFrame() {
+        particles.beginFrame();
+    }
+
+    /*
+    * Advances every particle by one simulation tick.
+    * */
+    public void update(double seconds) {
+        particles.update(seconds);
+    }
+
+    /*
+    * Redraws every live particle, one pass per palette color.
+    * */
+    public void draw() {
+        if (!dirty && particles.size() == 0) {
+            return;
+        }
+
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+        for (int colorIndex = 0; colorIndex < PALETTE.length; colorIndex++) {
+            graphics.setFill(PALETTE[colorIndex]);
+
+            for (int i = 0; i < particles.size(); i++) {
+                if (particles.color[i] != colorIndex) {
+                    continue;
+                }
+
+                double side = particles.sizeOf(i);
+                graphics.fillRect(particles.x[i] - side / 2, particles.y[i] - side / 2, side, side);
+            }
+        }
+        dirty = particles.size() > 0;
+    }
+
+    /*
+    * Removes every particle.
+    * */
+    public void clear() {
+        particles.clear();
+    }
+
+    public ParticleSystem getParticles() {
+        return particles;
+    }
+}
@@ -0,0 +1,150 @@
+
+/*
+* ParticleSystem
+* Short-lived cosmetic particles (explosion debris, hit sparks) kept in a
+* fixed-size structure of primitive arrays. Every particle is moved, aged
+* and culled in one pass per tick, and dead particles are swap-removed so
+* the live ones stay packed at the front for batched drawing.
+* Nothing is allocated after construction. The buffer never grows: bursts
+* are trimmed to a per-frame spawn budget and to the free capacity, and
+* the trimmed particles are counted as dropped.
+* Particles are purely visual and use their own random generator, so
+* they never affect the simulation.
+* */
+public class ParticleSystem {
+
+    // Downward pull in pixels per second squared, and the fraction of speed lost per second
+    private static final double GRAVITY = 240;
+    private static final double DRAG = 2.0;
+
+    private final int capacity;
+    private final int spawnBudget;
+    private final GameRandom random = new GameRandom(System.nanoTime());
+
+    // Live particles, packed into [0, size)
+    public final double[] x;
+    public final double[] y;
+    public final double[] velocityX;
+    public final double[] velocityY;
+    public final double[] age;          // Seconds since spawn
+    public final double[] lifetime;     // Seconds until removal
+    public final double[] startSize;    // Side length at spawn, shrinking to 0 by the end of life
+    public final byte[] color;          // Palette index chosen by the view
+    private int size = 0;
+
+    // Budget and statistics
+    private int spawnedThisFrame = 0;
+    private int peakSize = 0;
+    private long dropped = 0;
+
+    public ParticleSystem(int capacity, int spawnBudget) {
+        this.capacity = capacity;
+        this.spawnBudget = spawnBudget;
+        x = new double[capacity];
+        y = new double[capacity];
+        velocityX = new double[capacity];
+        velocityY = new double[capacity];
+        age = new double[capacity];
+        lifetime = new double[capacity];
+        startSize = new double[capacity];
+        color = new byte[capacity];
+    }
+
+    /*
+    * Starts a new display frame, refilling the spawn budget.
+    * */
+    public void beginFrame() {
+        spawnedThisFrame = 0;
+    }
+
+    /*
+    * Spawns up to 'count' particles at a point, flying out in random
+    * directions at up to 'speed' pixels per second. Lifetimes and sizes
+    * vary between half and all of the given maximums.
+    * Returns how many were actually spawned.
+    * */
+    public int burst(double centerX, double centerY, int count, double speed,
+                     double maxLifetime, double maxSize, int colorIndex) {
+        int allowed = Math.max(0, Math.min(count, Math.min(spawnBudget - spawnedThisFrame, capacity - size)));
+        dropped += count - allowed;
+        spawnedThisFrame += allowed;
+
+        for (int n = 0; n < allowed; n++) {
+            int i = size++;
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double particleSpeed = speed * (0.25 + 0.75 * random.nextDouble());
+
+            x[i] = centerX;
+            y[i] = centerY;
+            velocityX[i] = Math.cos(angle) * particleSpeed;
+            velocityY[i] = Math.sin(angle) * particleSpeed;
+            age[i] = 0;
+            lifetime[i] = maxLifetime * (0.5 + 0.5 * random.nextDouble());
+            startSize[i] = maxSize * (0.5 + 0.5 * random.nextDouble());
+            color[i] = (byte) colorIndex;
+        }
+
+        peakSize = Math.max(peakSize, size);
+        return allowed;
+    }
+
+    /*
+    * Advances every particle by one step and removes the expired ones.
+    * */
+    public void update(double seconds) {
+        double drag = Math.max(0, 1 - DRAG * seconds);
+        double gravity = GRAVITY * seconds;
+
+        int i = 0;
+        while (i < size) {
+            double newAge = age[i] + seconds;
+
+            if (newAge >= lifetime[i]) {
+                swapRemove(i);
+                continue;   // Check the particle moved into this slot
+            }
+
+            age[i] = newAge;
+            velocityX[i] *= drag;
+            velocityY[i] = velocityY[i] * drag + gravity;
+            x[i] += velocityX[i] * seconds;
+            y[i] += velocityY[i] * seconds;
+            i++;
+        }
+    }
+
+    /*
+    * Current side length of a particle.
+    * */
+    public double sizeOf(int i) {
+        return startSize[i] * (1 - age[i] / lifetime[i]);
+    }
+
+    /*
+    * Removes every particle.
+    * */
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getStats() {
+        return "live " + size + "/" + capacity + ", peak " + peakSize + ", dropped " + dropped;
+    }
+
+    private void swapRemove(int i) {
+        int last = --size;
+
+        x[i] = x[last];
+        y[i] = y[last];
+        velocityX[i] = velocityX[last];
+        velocityY[i] = velocityY[last];
+        age[i] = age[last];
+        lifetime[i] = lifetime[last];
+        startSize[i] = startSize[last];
+        color[i] = color[last];
+    }
+}
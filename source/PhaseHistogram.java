@@ -0,0 +1,102 @@
+import java.util.Arrays;
+
+/*
+* PhaseHistogram
+* Fixed-size log-linear histogram of durations in nanoseconds. Each power
+* of two is split into 8 linear buckets, so recorded values are kept to
+* within 12.5% while recording is a few shifts and an array increment,
+* with no allocation. Percentiles report the upper edge of their bucket;
+* the maximum is exact.
+* */
+public class PhaseHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // Enough powers of two to cover any long duration
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count = 0;
+    private long total = 0;
+    private long max = 0;
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+
+        counts[bucketOf(nanos)]++;
+        count++;
+        total += nanos;
+        max = Math.max(max, nanos);
+    }
+
+    /*
+    * Bucket index: values below 8 get a bucket each, larger values use
+    * their highest set bit as the exponent and the next 3 bits as the
+    * linear sub-bucket.
+    * */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) (value >>> (exponent - 1)) & (SUB_BUCKETS - 1);
+        return exponent * SUB_BUCKETS + subBucket;
+    }
+
+    /*
+    * Largest value that falls into the given bucket.
+    * */
+    private static long upperEdgeOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        int exponent = bucket / SUB_BUCKETS;
+        long subBucket = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - 1)) - 1;
+    }
+
+    /*
+    * Value below which the given fraction (0 to 1) of samples fall.
+    * */
+    public long percentile(double fraction) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(count * fraction));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+
+            if (seen >= target) {
+                return Math.min(upperEdgeOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return (count > 0) ? (double) total / count : 0;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+}
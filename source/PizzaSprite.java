@@ -1,6 +1,4 @@
 import javafx.animation.FadeTransition;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import javafx.util.Duration;
 
 /*
@@ -8,35 +6,31 @@ import javafx.util.Duration;
 * Represents the player’s pizza ship. Handles position, sprite display,
 * and visual feedback (flash) when hit or collecting power-ups.
 * */
-public class PizzaSprite extends ImageView {
+public class PizzaSprite extends EntitySprite {
+
+    // Reused for every flash instead of building a new animation each hit
+    private final FadeTransition flashTransition = new FadeTransition(Duration.millis(50), this);
 
     /*
     * Creates a pizza sprite positioned at the given coordinates.
     * Used for visual effects (e.g., flashing on damage).
     * */
     public PizzaSprite(double x, double y) {
-
-        // Load and configure pizza sprite image
-        Image pizzaSpriteImage = new Image(getClass().getResource("/assets/sprite/pizza.png").toExternalForm());
-        this.setImage(pizzaSpriteImage);
-        this.setPreserveRatio(true);
-        this.setFitWidth(75);
+        super("/assets/sprite/pizza.png", 75);
         this.setX(x);
         this.setY(y);
+
+        // Very fast fade in/out for a "hit" visual cue
+        flashTransition.setFromValue(1.0);
+        flashTransition.setToValue(0.0);
+        flashTransition.setCycleCount(10);
+        flashTransition.setAutoReverse(true);
     }
 
     /*
     * Rapid flash effect to indicate damage or impact.
     * */
     public void flash() {
-
-        // Very fast fade in/out for a "hit" visual cue
-        FadeTransition fadeTransition = new FadeTransition(Duration.millis(50), this);
-        fadeTransition.setFromValue(1.0);
-        fadeTransition.setToValue(0.0);
-        fadeTransition.setCycleCount(10);
-        fadeTransition.setAutoReverse(true);
-
-        fadeTransition.play();
+        flashTransition.playFromStart();
     }
 }
@@ -0,0 +1,32 @@
+
+/*
+* PoolManager
+* Centralized pools for the entities that are spawned and despawned
+* most often:
+* - Player projectiles
+* - Enemy projectiles
+* Each pooled entity returns itself to its pool when it is removed
+* from the game pane.
+* */
+public class PoolManager {
+
+    public static final ObjectPool<Projectile> PLAYER_PROJECTILES = new ObjectPool<>(Projectile::new, 64);
+    public static final ObjectPool<EnemyProjectile> ENEMY_PROJECTILES = new ObjectPool<>(EnemyProjectile::new, 256);
+
+    /*
+    * Pre-allocates enough entities for typical play so that
+    * the first few seconds of a game don't allocate.
+    * */
+    public static void prewarm() {
+        PLAYER_PROJECTILES.prewarm(24);
+        ENEMY_PROJECTILES.prewarm(96);
+    }
+
+    /*
+    * Summary of all pool statistics, used for sizing the pools.
+    * */
+    public static String getStats() {
+        return "playerProjectiles[" + PLAYER_PROJECTILES + "] "
+                + "enemyProjectiles[" + ENEMY_PROJECTILES + "]";
+    }
+}
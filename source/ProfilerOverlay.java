@@ -0,0 +1,79 @@
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/*
+* ProfilerOverlay
+* Live view of the FrameProfiler histograms on the UI layer.
+* Toggling the overlay also turns profiling on and off, so nothing is
+* measured while it is hidden. The text is refreshed a few times per
+* second rather than every frame to keep its own cost out of the numbers.
+* */
+public class ProfilerOverlay {
+
+    private static final long REFRESH_NANOS = 250_000_000L;
+
+    private final Pane uiPane;
+    private final ParticleSystem particles;
+    private final Text text = new Text();
+    private long lastRefreshNanos = 0;
+
+    public ProfilerOverlay(Pane uiPane, ParticleSystem particles) {
+        this.uiPane = uiPane;
+        this.particles = particles;
+
+        text.setFont(Font.font("Monospaced", 14));
+        text.setFill(Color.LIME);
+        text.setX(10);
+        text.setY(140);
+        text.setMouseTransparent(true);
+    }
+
+    /*
+    * Shows or hides the overlay, starting a fresh profile when shown.
+    * */
+    public void toggle() {
+        boolean show = !FrameProfiler.isEnabled();
+        FrameProfiler.setEnabled(show);
+
+        if (show) {
+            text.setText(FrameProfiler.getSummary());
+            uiPane.getChildren().add(text);
+        } else {
+            uiPane.getChildren().remove(text);
+        }
+    }
+
+    /*
+    * Refreshes the numbers if the overlay is visible.
+    * 'frameNanos' is the master clock time of the current frame.
+    * */
+    public void update(long frameNanos) {
+        if (!FrameProfiler.isEnabled() || frameNanos - lastRefreshNanos < REFRESH_NANOS) {
+            return;
+        }
+
+        text.setText(FrameProfiler.getSummary() + "\naudio " + AudioMixer.getStats()
+                + "\nparticles " + particles.getStats());
+        text.toFront();
+        lastRefreshNanos = frameNanos;
+    }
+
+    /*
+    * Writes the current profile to a timestamped CSV file in the working directory.
+    * */
+    public void dumpCsv() {
+        Path file = Path.of("frame-profile-" + System.currentTimeMillis() + ".csv");
+
+        try {
+            FrameProfiler.writeCsv(file);
+            System.out.println("Frame profile written to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Could not write frame profile: " + e.getMessage());
+        }
+    }
+}
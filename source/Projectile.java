@@ -1,49 +1,19 @@
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.scene.layout.Pane;
-import javafx.util.Duration;
 
 /*
 * Projectile
-* Represents a projectile fired by the player. Handles upward movement
-* and removal when leaving the screen.
+* Draws a projectile fired by the player. Its movement is simulated by World.
+* Instances are pooled and reused.
 * */
-public class Projectile extends ImageView {
+public class Projectile extends EntitySprite {
 
-    /*
-    * Player-fired projectile moving upward.
-    * */
     public Projectile() {
+        super("/assets/projectile/projectile.png", 50);
 
-        // Load and configure projectile sprite
-        Image projectileImage = new Image(getClass().getResource("/assets/projectile/projectile.png").toExternalForm());
-        this.setImage(projectileImage);
-        this.setPreserveRatio(true);
-        this.setFitWidth(50);
-    }
-
-    /*
-    * Fires the projectile from the given world position.
-    * */
-    public void fire(double currentX, double currentY, Pane gamePane) {
-
-        // Center projectile horizontally and offset vertically from the shooter
-        this.setX(currentX - this.getFitWidth() / 2);
-        this.setY(currentY - 25);
-
-        gamePane.getChildren().add(this);
-
-        // Timeline updates projectile movement every frame (~60 FPS)
-        Timeline projectileTimeline = new Timeline(new KeyFrame(Duration.millis(16), ev -> {
-            this.setY(this.getY() - 10);
-            if (this.getY() < -100) {
-                gamePane.getChildren().remove(this);
+        // Return to the pool once removed from the scene graph
+        this.parentProperty().addListener((unusedObs, unusedOldParent, newParent) -> {
+            if (newParent == null) {
+                PoolManager.PLAYER_PROJECTILES.release(this);
             }
-        }));
-        projectileTimeline.setCycleCount(Animation.INDEFINITE);
-        projectileTimeline.play();
+        });
     }
-}
\ No newline at end of file
+}
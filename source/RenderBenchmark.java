@@ -0,0 +1,151 @@
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+
+import java.util.Arrays;
+import java.util.List;
+
+/*
+* RenderBenchmark
+* Compares frame times of the two render modes at high entity counts.
+* Keeps a fixed number of enemy projectiles falling down the play field,
+* respawning each one at the top once it leaves the bottom (so sprites
+* are added and removed every frame, like in the game), and reports frame
+* time statistics after a fixed number of frames. Run each mode separately
+* with vsync off so frames aren't capped at the display refresh rate, e.g.:
+*   java -Dprism.vsync=false -Djavafx.animation.fullspeed=true RenderBenchmark nodes 5000
+*   java -Dprism.vsync=false -Djavafx.animation.fullspeed=true RenderBenchmark canvas 5000
+* Without a display it can run on the Monocle headless platform (the
+* openjfx-monocle jar patched into javafx.graphics) with
+* -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw
+* and -Dheadless.geometry=1024x1100-32, large enough for the window.
+* The README lists results.
+* */
+public class RenderBenchmark extends Application {
+
+    private static final int WARMUP_FRAMES = 120;
+    private static final int MEASURED_FRAMES = 600;
+
+    private RenderMode mode;
+    private int count;
+
+    private final EntityStore store = new EntityStore(1, 1024);
+    private EntitySprite[] sprites;
+    private CanvasRenderer canvasRenderer;
+    private Group layer;            // Layer the node-mode sprites live in
+
+    private final long[] frameTimes = new long[MEASURED_FRAMES];
+    private final long[] updateTimes = new long[MEASURED_FRAMES];
+    private int frame = 0;
+    private long lastFrameNanos = -1;
+
+    @Override
+    public void start(Stage stage) {
+        List<String> args = getParameters().getRaw();
+        mode = (args.size() > 0 && args.get(0).equalsIgnoreCase("canvas")) ? RenderMode.CANVAS : RenderMode.NODES;
+        count = (args.size() > 1) ? Integer.parseInt(args.get(1)) : 5000;
+
+        Pane pane = new Pane();
+        pane.setPrefSize(World.WIDTH, World.HEIGHT);
+        GameLayers layers = new GameLayers(pane);
+        layer = layers.enemyProjectiles;
+
+        if (mode == RenderMode.CANVAS) {
+            canvasRenderer = new CanvasRenderer(layers.batched, new TimingWheel(32));
+        } else {
+            sprites = new EntitySprite[count];
+        }
+
+        // Spread the projectiles over the whole play field, each with its own speed
+        for (int i = 0; i < count; i++) {
+            int index = store.add(EntityType.ENEMY_PROJECTILE, Math.random() * (World.WIDTH - 50), Math.random() * World.HEIGHT);
+            store.velocityY[index] = 100 + Math.random() * 400;
+
+            if (mode == RenderMode.NODES) {
+                sprites[index] = new EntitySprite("/assets/projectile/enemy_projectile.png", 50);
+                layer.getChildren().add(sprites[index]);
+            }
+        }
+
+        stage.setScene(new Scene(pane, World.WIDTH, World.HEIGHT));
+        stage.setTitle("RenderBenchmark " + mode + " x" + count);
+        stage.show();
+
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                frame(now);
+            }
+        }.start();
+    }
+
+    private void frame(long now) {
+        long updateStart = System.nanoTime();
+        double seconds = (lastFrameNanos < 0) ? 0 : (now - lastFrameNanos) / 1_000_000_000.0;
+
+        for (int i = 0; i < store.size(); i++) {
+            store.y[i] += store.velocityY[i] * seconds;
+
+            if (store.y[i] > World.HEIGHT) {
+                store.y[i] = -store.height[i];
+
+                // Respawning a node means removing it and adding it back, as the game does
+                if (mode == RenderMode.NODES) {
+                    layer.getChildren().remove(sprites[i]);
+                    layer.getChildren().add(sprites[i]);
+                }
+            }
+        }
+
+        if (mode == RenderMode.CANVAS) {
+            canvasRenderer.clear();
+            canvasRenderer.drawStore(store, 1);
+        } else {
+            for (int i = 0; i < store.size(); i++) {
+                sprites[i].place(store.x[i], store.y[i]);
+            }
+        }
+        long updateNanos = System.nanoTime() - updateStart;
+
+        // Frame time includes the previous pulse's layout and rendering
+        int measured = frame - WARMUP_FRAMES;
+        if (measured >= 0 && measured < MEASURED_FRAMES) {
+            frameTimes[measured] = now - lastFrameNanos;
+            updateTimes[measured] = updateNanos;
+        }
+
+        lastFrameNanos = now;
+        frame++;
+
+        if (measured == MEASURED_FRAMES - 1) {
+            report();
+            Platform.exit();
+        }
+    }
+
+    private void report() {
+        System.out.printf("mode %s, %d entities, %d frames%n", mode, count, MEASURED_FRAMES);
+        printStats("frame time ", frameTimes);
+        printStats("update time", updateTimes);
+    }
+
+    private static void printStats(String label, long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+
+        double mean = Arrays.stream(sorted).average().orElse(0) / 1_000_000.0;
+        double p50 = sorted[sorted.length / 2] / 1_000_000.0;
+        double p99 = sorted[(int) (sorted.length * 0.99)] / 1_000_000.0;
+        double max = sorted[sorted.length - 1] / 1_000_000.0;
+
+        System.out.printf("  %s  mean %.2f ms  p50 %.2f ms  p99 %.2f ms  max %.2f ms%n", label, mean, p50, p99, max);
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,20 @@
+
+/*
+* RenderMode
+* How the JavaFX view draws gameplay entities:
+* - NODES: one ImageView per entity in the scene graph (default)
+* - CANVAS: every entity drawn into a single Canvas each frame
+* Selected at startup with -Drender.mode=canvas or -Drender.mode=nodes.
+* */
+public enum RenderMode {
+    NODES,
+    CANVAS;
+
+    /*
+    * Reads the render.mode system property, falling back to NODES.
+    * */
+    public static RenderMode fromSystemProperty() {
+        String value = System.getProperty("render.mode", "nodes");
+        return value.equalsIgnoreCase("canvas") ? CANVAS : NODES;
+    }
+}
@@ -0,0 +1,112 @@
+import java.nio.ByteBuffer;
+
+/*
+* SnapshotRing
+* Fixed-size history of World snapshots for rewinding. Every slot is
+* carved out of one buffer allocated up front, so recording a snapshot
+* allocates nothing; once full, each new snapshot overwrites the oldest.
+* A snapshot that would not fit in a slot is skipped and counted.
+* */
+public class SnapshotRing {
+
+    private final ByteBuffer buffer;
+    private final int slotBytes;
+    private final int slotCount;
+    private final int intervalTicks;
+
+    // Simulation time of each slot's snapshot (ms)
+    private final long[] slotMillis;
+
+    private int newest = -1;    // Slot of the most recent snapshot
+    private int size = 0;       // Slots holding a snapshot
+    private int ticksSinceSnapshot = 0;
+    private long dropped = 0;   // Snapshots skipped because they didn't fit
+
+    /*
+    * Keeps 'historyMillis' of snapshots taken every 'intervalTicks'
+    * ticks, each at most 'slotBytes' long.
+    * */
+    public SnapshotRing(long historyMillis, int intervalTicks, int slotBytes) {
+        double intervalMillis = intervalTicks * World.TICK_NANOS / 1_000_000.0;
+
+        this.intervalTicks = intervalTicks;
+        this.slotBytes = slotBytes;
+        this.slotCount = (int) Math.ceil(historyMillis / intervalMillis) + 1;
+        this.buffer = ByteBuffer.allocateDirect(slotCount * slotBytes);
+        this.slotMillis = new long[slotCount];
+    }
+
+    /*
+    * Called after every tick; takes a snapshot every 'intervalTicks' ticks.
+    * */
+    public void record(World world) {
+        if (++ticksSinceSnapshot < intervalTicks) {
+            return;
+        }
+        ticksSinceSnapshot = 0;
+
+        if (world.snapshotSize() > slotBytes) {
+            dropped++;
+            return;
+        }
+
+        int slot = (newest + 1) % slotCount;
+        world.save(slice(slot));
+        slotMillis[slot] = world.getSimulationMillis();
+
+        newest = slot;
+        size = Math.min(size + 1, slotCount);
+    }
+
+    /*
+    * Restores the newest snapshot at least 'millisBack' older than the
+    * world's current time, or the oldest one if history is shorter.
+    * Later snapshots are discarded, since play continues from there.
+    * Returns false if there is nothing to rewind to.
+    * */
+    public boolean rewind(World world, long millisBack) {
+        if (size == 0) {
+            return false;
+        }
+
+        long target = world.getSimulationMillis() - millisBack;
+        int slot = newest;
+        int stepsBack = 0;
+
+        while (stepsBack < size - 1 && slotMillis[slot] > target) {
+            slot = (slot - 1 + slotCount) % slotCount;
+            stepsBack++;
+        }
+
+        world.restore(slice(slot));
+
+        newest = slot;
+        size -= stepsBack;
+        ticksSinceSnapshot = 0;
+        return true;
+    }
+
+    public void clear() {
+        newest = -1;
+        size = 0;
+        ticksSinceSnapshot = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    /*
+    * The buffer positioned and limited to one slot.
+    * */
+    private ByteBuffer slice(int slot) {
+        buffer.clear();
+        buffer.position(slot * slotBytes);
+        buffer.limit(slot * slotBytes + slotBytes);
+        return buffer;
+    }
+}
@@ -0,0 +1,15 @@
+
+/*
+* SoundEffect
+* Sounds the simulation can request. The JavaFX view maps each one
+* to an audio clip in SoundManager.
+* */
+public enum SoundEffect {
+    EXPLOSION,
+    ENEMY_BLASTER,
+    BLASTER,
+    GAME_OVER,
+    GAME_START,
+    POWER_UP,
+    PLAYER_HIT
+}
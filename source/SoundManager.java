@@ -1,5 +1,8 @@
 import javafx.scene.media.AudioClip;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /*
 * SoundManager
 * Centralized manager for playing all game sound effects:
@@ -8,44 +11,69 @@ import javafx.scene.media.AudioClip;
 * - Player blaster
 * - Game over/start
 * - Power-ups
+* - Player hit (its own clip, so stopping explosions never silences it)
+* Plays go through AudioMixer, which limits and merges them once per frame.
+* Clips are normally preloaded by AssetLoader; any clip that wasn't is
+* loaded the first time it plays.
 * */
 public class SoundManager {
 
-    // Preload all audio clips to avoid delay during gameplay
-    private static final AudioClip EXPLOSION_SOUND = new AudioClip(SoundManager.class.getResource("/assets/sound/explosion_sound.mp3").toExternalForm());
-    private static final AudioClip ENEMY_BLASTER_SOUND = new AudioClip(SoundManager.class.getResource("/assets/sound/enemy_blaster_sound.mp3").toExternalForm());
-    private static final AudioClip BLASTER_SOUND = new AudioClip(SoundManager.class.getResource("/assets/sound/blaster_sound.mp3").toExternalForm());
-    private static final AudioClip GAME_OVER_SOUND = new AudioClip(SoundManager.class.getResource("/assets/sound/game_over_sound.mp3").toExternalForm());
-    private static final AudioClip GAME_START_SOUND = new AudioClip(SoundManager.class.getResource("/assets/sound/game_start_sound.mp3").toExternalForm());
-    private static final AudioClip POWER_UP_SOUND = new AudioClip(SoundManager.class.getResource("/assets/sound/power_up_sound.mp3").toExternalForm());
-
-    public static void playExplosionSound() {
-        EXPLOSION_SOUND.setVolume(0.25);
-        EXPLOSION_SOUND.play();
+    private static final double VOLUME = 0.25;
+
+    // Loaded clips by resource path
+    private static final Map<String, AudioClip> CLIPS = new HashMap<>();
+
+    /*
+    * Adds a clip loaded elsewhere, e.g. by AssetLoader at startup.
+    * */
+    public static void put(String resourcePath, AudioClip clip) {
+
+        // Set once here instead of before every play
+        clip.setVolume(VOLUME);
+        CLIPS.put(resourcePath, clip);
     }
 
-    public static void playEnemyBlasterSound() {
-        ENEMY_BLASTER_SOUND.setVolume(0.25);
-        ENEMY_BLASTER_SOUND.play();
+    /*
+    * Queues a sound requested by the simulation for the next mix.
+    * */
+    public static void play(SoundEffect effect) {
+        AudioMixer.request(effect);
     }
 
-    public static void playBlasterSound() {
-        BLASTER_SOUND.setVolume(0.25);
-        BLASTER_SOUND.play();
+    public static void playGameStartSound() {
+        play(SoundEffect.GAME_START);
     }
 
-    public static void playGameOverSound() {
-        GAME_OVER_SOUND.setVolume(0.25);
-        GAME_OVER_SOUND.play();
+    /*
+    * Plays a clip straight away. Only the mixer calls this.
+    * */
+    static void playClip(SoundEffect effect) {
+        clipFor(effect).play();
     }
 
-    public static void playGameStartSound() {
-        GAME_START_SOUND.setVolume(0.25);
-        GAME_START_SOUND.play();
+    /*
+    * Stops every playing instance of a clip.
+    * */
+    static void stopClip(SoundEffect effect) {
+        clipFor(effect).stop();
     }
 
-    public static void playPowerUpSound() {
-        POWER_UP_SOUND.setVolume(0.25);
-        POWER_UP_SOUND.play();
+    private static AudioClip clipFor(SoundEffect effect) {
+        String path = switch (effect) {
+            case EXPLOSION -> "/assets/sound/explosion_sound.mp3";
+            case ENEMY_BLASTER -> "/assets/sound/enemy_blaster_sound.mp3";
+            case BLASTER -> "/assets/sound/blaster_sound.mp3";
+            case GAME_OVER -> "/assets/sound/game_over_sound.mp3";
+            case GAME_START -> "/assets/sound/game_start_sound.mp3";
+            case POWER_UP -> "/assets/sound/power_up_sound.mp3";
+            case PLAYER_HIT -> "/assets/sound/player_hit_sound.mp3";
+        };
+
+        AudioClip clip = CLIPS.get(path);
+        if (clip == null) {
+            put(path, new AudioClip(SoundManager.class.getResource(path).toExternalForm()));
+            clip = CLIPS.get(path);
+        }
+        return clip;
     }
 }
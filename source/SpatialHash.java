@@ -0,0 +1,137 @@
+import java.util.Arrays;
+
+/*
+* SpatialHash
+* Uniform-grid broadphase over the play field. Entities are bucketed into
+* every cell their bounds overlap, so a query only returns entities that
+* share at least one cell with the query area instead of every entity.
+* Entities are identified by small non-negative ints (e.g. EntityStore
+* indices) and cells are primitive arrays, so a tick allocates nothing
+* once the grid has grown to fit. The grid is cleared and refilled once
+* per tick.
+* */
+public class SpatialHash {
+
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+
+    // One bucket of ids per cell, reused between ticks to avoid reallocating
+    private final int[][] cells;
+    private final int[] cellCounts;
+
+    // Indices of cells filled this tick so clear() only touches those
+    private final int[] occupiedCells;
+    private int occupiedCount = 0;
+
+    // Query results, plus the last query each id was reported in so ids
+    // spanning several cells are only reported once
+    private int[] results = new int[64];
+    private int[] lastQueryOf = new int[256];
+    private int queryStamp = 0;
+
+    public SpatialHash(double width, double height, double cellSize) {
+        this.cellSize = cellSize;
+        this.columns = (int) Math.ceil(width / cellSize);
+        this.rows = (int) Math.ceil(height / cellSize);
+        this.cells = new int[columns * rows][8];
+        this.cellCounts = new int[columns * rows];
+        this.occupiedCells = new int[columns * rows];
+    }
+
+    /*
+    * Empties every cell that was filled since the last clear.
+    * */
+    public void clear() {
+        for (int i = 0; i < occupiedCount; i++) {
+            cellCounts[occupiedCells[i]] = 0;
+        }
+        occupiedCount = 0;
+    }
+
+    /*
+    * Adds an id to every cell its bounds overlap.
+    * Bounds outside the play field are clamped to the edge cells.
+    * */
+    public void insert(int id, double minX, double minY, double maxX, double maxY) {
+        int firstColumn = column(minX);
+        int lastColumn = column(maxX);
+        int firstRow = row(minY);
+        int lastRow = row(maxY);
+
+        if (id >= lastQueryOf.length) {
+            lastQueryOf = Arrays.copyOf(lastQueryOf, Math.max(id + 1, lastQueryOf.length * 2));
+        }
+
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                int index = r * columns + c;
+                int count = cellCounts[index];
+
+                if (count == 0) {
+                    occupiedCells[occupiedCount++] = index;
+                }
+                if (count == cells[index].length) {
+                    cells[index] = Arrays.copyOf(cells[index], count * 2);
+                }
+                cells[index][count] = id;
+                cellCounts[index] = count + 1;
+            }
+        }
+    }
+
+    /*
+    * Collects every id sharing a cell with the given bounds.
+    * Returns how many were found; read them from getResults().
+    * */
+    public int query(double minX, double minY, double maxX, double maxY) {
+        int firstColumn = column(minX);
+        int lastColumn = column(maxX);
+        int firstRow = row(minY);
+        int lastRow = row(maxY);
+
+        // Stamp 0 means "never reported", so skip it on wrap-around
+        queryStamp++;
+        if (queryStamp == 0) {
+            Arrays.fill(lastQueryOf, 0);
+            queryStamp = 1;
+        }
+
+        int found = 0;
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                int index = r * columns + c;
+                int[] cell = cells[index];
+
+                for (int i = 0; i < cellCounts[index]; i++) {
+                    int id = cell[i];
+
+                    if (lastQueryOf[id] != queryStamp) {
+                        lastQueryOf[id] = queryStamp;
+
+                        if (found == results.length) {
+                            results = Arrays.copyOf(results, found * 2);
+                        }
+                        results[found++] = id;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /*
+    * Ids found by the last query, valid up to the count it returned.
+    * */
+    public int[] getResults() {
+        return results;
+    }
+
+    private int column(double x) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor(x / cellSize)));
+    }
+
+    private int row(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor(y / cellSize)));
+    }
+}
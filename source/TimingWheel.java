@@ -0,0 +1,259 @@
+import java.util.Arrays;
+
+/*
+* TimingWheel
+* Hashed timing wheel for delayed actions, driven one tick at a time.
+* Timers hash into one of 256 slots by their deadline tick and sit in a
+* doubly linked list there, so scheduling, cancelling and rescheduling are
+* O(1). Each advance() only visits one slot; timers more than a full turn
+* away stay in their slot until their deadline comes round.
+* Timers live in preallocated parallel arrays and actions are reusable
+* Runnables, so scheduling allocates nothing once the wheel has grown to
+* fit. A timer is referred to by a handle that goes stale once it fires
+* or is cancelled, so an old handle can never touch a newer timer.
+* */
+public class TimingWheel {
+
+    private static final int SLOT_BITS = 8;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    // Handle layout: | generation (11 bits) | timer index (20 bits) |
+    private static final int INDEX_BITS = 20;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+    private static final int GENERATION_MASK = (1 << 11) - 1;
+
+    public static final int NO_TIMER = -1;
+
+    private long currentTick = 0;
+
+    // First timer in each slot, -1 if empty
+    private final int[] slotHeads = new int[SLOTS];
+
+    // Timers due on the current tick, taken out of their slot before any action runs
+    private int firingHead = -1;
+    private int firingTail = -1;
+
+    // Timer pool
+    private long[] deadline;
+    private Runnable[] action;
+    private int[] next;
+    private int[] previous;
+    private int[] generation;
+    private boolean[] pending;
+    private int[] freeTimers;
+    private int freeCount = 0;
+    private int timerCount = 0;
+    private int pendingCount = 0;
+
+    public TimingWheel(int initialCapacity) {
+        Arrays.fill(slotHeads, -1);
+        deadline = new long[initialCapacity];
+        action = new Runnable[initialCapacity];
+        next = new int[initialCapacity];
+        previous = new int[initialCapacity];
+        generation = new int[initialCapacity];
+        pending = new boolean[initialCapacity];
+        freeTimers = new int[initialCapacity];
+    }
+
+    /*
+    * Runs 'task' after the given number of ticks (at least one).
+    * Returns a handle for cancelling or rescheduling it.
+    * */
+    public int schedule(long delayTicks, Runnable task) {
+        int timer = (freeCount > 0) ? freeTimers[--freeCount] : newTimer();
+
+        action[timer] = task;
+        pending[timer] = true;
+        pendingCount++;
+        link(timer, currentTick + Math.max(1, delayTicks));
+
+        return (generation[timer] << INDEX_BITS) | timer;
+    }
+
+    /*
+    * Stops a timer from firing. Returns false if it already fired or was cancelled.
+    * */
+    public boolean cancel(int handle) {
+        int timer = timerOf(handle);
+        if (timer < 0) {
+            return false;
+        }
+
+        unlink(timer);
+        release(timer);
+        return true;
+    }
+
+    /*
+    * Moves a pending timer to fire the given number of ticks from now.
+    * Returns false if it already fired or was cancelled.
+    * */
+    public boolean reschedule(int handle, long delayTicks) {
+        int timer = timerOf(handle);
+        if (timer < 0) {
+            return false;
+        }
+
+        unlink(timer);
+        link(timer, currentTick + Math.max(1, delayTicks));
+        return true;
+    }
+
+    /*
+    * Pushes a pending timer's deadline back by the given number of ticks.
+    * */
+    public boolean extend(int handle, long extraTicks) {
+        long remaining = remainingTicks(handle);
+        return remaining >= 0 && reschedule(handle, remaining + extraTicks);
+    }
+
+    /*
+    * Ticks left until a timer fires, or -1 if it is no longer pending.
+    * */
+    public long remainingTicks(int handle) {
+        int timer = timerOf(handle);
+        return (timer < 0) ? -1 : deadline[timer] - currentTick;
+    }
+
+    public boolean isPending(int handle) {
+        return timerOf(handle) >= 0;
+    }
+
+    /*
+    * Moves time forward one tick and runs every timer due on it.
+    * Actions may schedule or cancel timers, including ones due on the
+    * same tick: due timers are moved to a separate firing list first,
+    * so no action ever changes the list being walked.
+    * */
+    public void advance() {
+        currentTick++;
+
+        int timer = slotHeads[(int) (currentTick & SLOT_MASK)];
+        while (timer >= 0) {
+            int following = next[timer];
+
+            // Timers a whole turn or more away share the slot; leave them
+            if (deadline[timer] == currentTick) {
+                unlink(timer);
+                appendFiring(timer);
+            }
+            timer = following;
+        }
+
+        // Re-read the head each time, since an action may have cancelled the next timer
+        while (firingHead >= 0) {
+            timer = firingHead;
+            Runnable task = action[timer];
+            unlink(timer);
+            release(timer);
+            task.run();
+        }
+    }
+
+    /*
+    * Cancels every pending timer.
+    * */
+    public void clear() {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int timer = slotHeads[slot];
+
+            while (timer >= 0) {
+                int following = next[timer];
+                release(timer);
+                timer = following;
+            }
+            slotHeads[slot] = -1;
+        }
+
+        while (firingHead >= 0) {
+            int timer = firingHead;
+            unlink(timer);
+            release(timer);
+        }
+    }
+
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    private int timerOf(int handle) {
+        if (handle == NO_TIMER) {
+            return -1;
+        }
+
+        int timer = handle & INDEX_MASK;
+        if (timer >= timerCount || !pending[timer] || generation[timer] != (handle >>> INDEX_BITS)) {
+            return -1;
+        }
+        return timer;
+    }
+
+    private void link(int timer, long deadlineTick) {
+        int slot = (int) (deadlineTick & SLOT_MASK);
+
+        deadline[timer] = deadlineTick;
+        previous[timer] = -1;
+        next[timer] = slotHeads[slot];
+
+        if (slotHeads[slot] >= 0) {
+            previous[slotHeads[slot]] = timer;
+        }
+        slotHeads[slot] = timer;
+    }
+
+    private void unlink(int timer) {
+        if (previous[timer] >= 0) {
+            next[previous[timer]] = next[timer];
+        } else if (timer == firingHead) {
+            firingHead = next[timer];
+        } else {
+            slotHeads[(int) (deadline[timer] & SLOT_MASK)] = next[timer];
+        }
+
+        if (next[timer] >= 0) {
+            previous[next[timer]] = previous[timer];
+        } else if (timer == firingTail) {
+            firingTail = previous[timer];
+        }
+    }
+
+    /*
+    * Adds a timer to the end of the firing list, so timers due on the
+    * same tick run in the order they sat in their slot.
+    * */
+    private void appendFiring(int timer) {
+        previous[timer] = firingTail;
+        next[timer] = -1;
+
+        if (firingTail >= 0) {
+            next[firingTail] = timer;
+        } else {
+            firingHead = timer;
+        }
+        firingTail = timer;
+    }
+
+    private void release(int timer) {
+        action[timer] = null;
+        pending[timer] = false;
+        pendingCount--;
+        generation[timer] = (generation[timer] + 1) & GENERATION_MASK;
+        freeTimers[freeCount++] = timer;
+    }
+
+    private int newTimer() {
+        if (timerCount == deadline.length) {
+            int capacity = timerCount * 2;
+            deadline = Arrays.copyOf(deadline, capacity);
+            action = Arrays.copyOf(action, capacity);
+            next = Arrays.copyOf(next, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+            generation = Arrays.copyOf(generation, capacity);
+            pending = Arrays.copyOf(pending, capacity);
+            freeTimers = Arrays.copyOf(freeTimers, capacity);
+        }
+        return timerCount++;
+    }
+}
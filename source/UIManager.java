@@ -1,7 +1,6 @@
 import javafx.animation.Animation;
 import javafx.animation.FadeTransition;
 import javafx.scene.Node;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
@@ -53,7 +52,7 @@ public class UIManager {
     public void setupInitialScreen() {
 
         // Display game logo
-        logo = new ImageView(new Image(getClass().getResource("/assets/background/logo.png").toExternalForm()));
+        logo = new ImageView(ImageCache.get("/assets/background/logo.png"));
         logo.setFitWidth(500);
         logo.setPreserveRatio(true);
         logo.setX(384 - (500 / 2.0));
@@ -0,0 +1,844 @@
+import java.nio.ByteBuffer;
+
+/*
+* World
+* Headless simulation core holding the complete game state. Handles:
+* - Player input and movement
+* - Player firing mechanics
+* - Enemy spawning, movement and firing
+* - Power-up spawning and expiry
+* - Game difficulty scaling
+* - Game start and reset
+* Collisions, scoring and lives are resolved by CollisionManager.
+* Contains no JavaFX code, so it can run without a display at thousands of
+* ticks per second for tests, balancing and benchmarks. The JavaFX classes
+* observe it through a WorldListener and draw its entities.
+* Enemies, projectiles and power-ups live in structure-of-arrays
+* EntityStores; the player is a single Hitbox.
+* All randomness comes from one seeded GameRandom and all timing from the
+* tick count, so the same seed and per-tick inputs always replay the same
+* game.
+* */
+public class World {
+
+    // Play field size in pixels
+    public static final double WIDTH = 768;
+    public static final double HEIGHT = 1024;
+
+    // Fixed simulation rate
+    public static final long TICK_NANOS = 1_000_000_000L / 120;
+    public static final double TICK_SECONDS = TICK_NANOS / 1_000_000_000.0;
+
+    // Speeds in pixels per second (matching the original per-frame values at 60 FPS)
+    private static final double PLAYER_SPEED = 180;
+    private static final double PLAYER_PROJECTILE_SPEED = 625;
+
+    // Time taken to zigzag down the full screen
+    private static final long ENEMY_PATH_MILLIS = 15000;
+    private static final long POWER_UP_PATH_MILLIS = 20000;   // Slower so power-ups are easier to collect
+
+    // Horizontal offset of the pepper-shot slices from the player
+    private static final double PEPPER_OFFSET = 80;
+
+    private static final long POWER_UP_DURATION_TICKS = 15000 * 1_000_000L / TICK_NANOS;
+    private static final long POWER_UP_SPAWN_COOLDOWN = 20000;
+
+    private static final double PLAYER_START_X = 384 - 75 / 2.0;
+    private static final double PLAYER_START_Y = 800;
+
+    // Snapshot format: header, fixed fields, then every entity
+    private static final int SNAPSHOT_MAGIC = 0x505A534E;   // "PZSN"
+    private static final int SNAPSHOT_VERSION = 3;
+    private static final int SNAPSHOT_HEADER_BYTES = 160;   // Everything before the first store, rounded up
+    private static final int SNAPSHOT_ENTITY_BYTES = 88;    // Type, 7 doubles, 3 longs, pattern, path lane and direction
+
+    // Exact sizes save() writes, used to check a snapshot before restoring it
+    private static final int SNAPSHOT_FIXED_BYTES = 4 + 1 + 8 + 8 + 1 + 1 + 8 * 8 + 3 * 4 + 8 + 4 * 8;
+    private static final int SNAPSHOT_ENTITY_EXACT_BYTES = 1 + 7 * 8 + 3 * 8 + 1 + 2 + 1;
+    private static final int SNAPSHOT_PATTERN_OFFSET = 1 + 7 * 8 + 3 * 8;
+
+    // Player input bits, as recorded by InputRecorder
+    public static final int INPUT_LEFT = 1;
+    public static final int INPUT_RIGHT = 2;
+    public static final int INPUT_FIRE = 4;
+
+    private final GameState state;
+    private final WorldListener listener;
+    private final long seed;
+    private final GameRandom random;
+
+    // Player and every other live entity, by kind
+    private final Hitbox player = new Hitbox();
+    private final EntityStore enemies = new EntityStore(0, 64);
+    private final EntityStore enemyProjectiles = new EntityStore(1, 1024);
+    private final EntityStore playerProjectiles = new EntityStore(2, 64);
+    private final EntityStore powerUps = new EntityStore(3, 8);
+    private final EntityStore[] stores = {enemies, enemyProjectiles, playerProjectiles, powerUps};
+
+    // Player input, set by the view or a headless driver
+    private boolean moveLeft = false;
+    private boolean moveRight = false;
+    private boolean firing = false;
+
+    private boolean started = false;    // Entities exist and move once the first game starts
+    private boolean running = false;    // Spawning, firing and collisions stop on game over
+
+    private long simulationNanos = 0;   // Total simulated time, used for all gameplay timing
+
+    // Entities removed during the last tick, and since the world was created
+    private int despawnsLastTick = 0;
+    private long despawnsTotal = 0;
+
+    // Timing values used for cooldowns and difficulty scaling (simulation ms)
+    private long timeSinceLastFired = 0;
+    private long timeSinceLastSpawned = 0;
+    private long timeSincePowerUpLastSpawned = 0;
+    private long lastSpawnDifficultyIncrease = 0;
+    private long FIRE_COOLDOWN = 750;
+    private long SPAWN_COOLDOWN = 1700;
+
+    // Delayed gameplay actions, advanced once per running tick
+    private final TimingWheel timers = new TimingWheel(16);
+
+    // Power-up expiry timers, NO_TIMER while inactive. The expiry actions
+    // are created once so scheduling them allocates nothing, and also run
+    // when a power-up is ended early (cancelling a fired timer is a no-op).
+    private int saltTimer = TimingWheel.NO_TIMER;
+    private int pepperTimer = TimingWheel.NO_TIMER;
+    private final Runnable expireSalt = this::disableSalt;
+    private final Runnable expirePepper = this::disablePepperShot;
+
+    public World(GameState state, WorldListener listener) {
+        this(state, listener, System.nanoTime());
+    }
+
+    public World(GameState state, WorldListener listener, long seed) {
+        this.state = state;
+        this.listener = listener;
+        this.seed = seed;
+        this.random = new GameRandom(seed);
+        player.place(PLAYER_START_X, PLAYER_START_Y, EntityType.PLAYER.width, EntityType.PLAYER.height);
+    }
+
+    public void setMoveLeft(boolean moveLeft) {
+        this.moveLeft = moveLeft;
+    }
+
+    public void setMoveRight(boolean moveRight) {
+        this.moveRight = moveRight;
+    }
+
+    public void setFiring(boolean firing) {
+        this.firing = firing;
+    }
+
+    /*
+    * Current input as INPUT_* bits.
+    * */
+    public int getInputMask() {
+        return (moveLeft ? INPUT_LEFT : 0) | (moveRight ? INPUT_RIGHT : 0) | (firing ? INPUT_FIRE : 0);
+    }
+
+    public void setInputMask(int mask) {
+        moveLeft = (mask & INPUT_LEFT) != 0;
+        moveRight = (mask & INPUT_RIGHT) != 0;
+        firing = (mask & INPUT_FIRE) != 0;
+    }
+
+    /*
+    * Starts the first game.
+    * */
+    public void start() {
+        long now = getSimulationMillis();
+        lastSpawnDifficultyIncrease = now;
+
+        // Allow firing, spawning and a first power-up straight away
+        timeSinceLastFired = now - FIRE_COOLDOWN;
+        timeSinceLastSpawned = now - SPAWN_COOLDOWN;
+        timeSincePowerUpLastSpawned = now - POWER_UP_SPAWN_COOLDOWN;
+
+        player.place(PLAYER_START_X, PLAYER_START_Y, EntityType.PLAYER.width, EntityType.PLAYER.height);
+
+        started = true;
+        running = true;
+    }
+
+    /*
+    * Advances the simulation by one fixed tick.
+    * */
+    public void tick() {
+        simulationNanos += TICK_NANOS;
+        long now = getSimulationMillis();
+        despawnsLastTick = 0;
+
+        if (!started) {
+            return;
+        }
+
+        // Entities keep drifting after game over
+        long start = FrameProfiler.start();
+        updateEntities(now);
+        FrameProfiler.stop(FrameProfiler.Phase.MOVEMENT, start);
+
+        // Drop entities that left the screen or finished their path
+        start = FrameProfiler.start();
+        removeDeadEntities();
+        FrameProfiler.stop(FrameProfiler.Phase.CLEANUP, start);
+
+        if (!running) {
+            return;
+        }
+
+        start = FrameProfiler.start();
+        updateDifficulty(now);
+        FrameProfiler.stop(FrameProfiler.Phase.DIFFICULTY, start);
+
+        start = FrameProfiler.start();
+        timers.advance();
+        handlePowerUpSpawning(now);
+        FrameProfiler.stop(FrameProfiler.Phase.POWER_UPS, start);
+
+        start = FrameProfiler.start();
+        handlePlayerMovement();
+        FrameProfiler.stop(FrameProfiler.Phase.PLAYER, start);
+
+        start = FrameProfiler.start();
+        handlePlayerFiring(now);
+        FrameProfiler.stop(FrameProfiler.Phase.FIRING, start);
+
+        start = FrameProfiler.start();
+        handleEnemySpawning(now);
+        FrameProfiler.stop(FrameProfiler.Phase.SPAWNING, start);
+
+        // Assign collision handling to a dedicated manager, then drop whatever it destroyed
+        start = FrameProfiler.start();
+        CollisionManager.update(this, now);
+        removeDeadEntities();
+        FrameProfiler.stop(FrameProfiler.Phase.COLLISIONS, start);
+    }
+
+    /*
+    * Advances every live entity by one tick in a single pass per store.
+    * */
+    private void updateEntities(long now) {
+        for (int i = 0; i < playerProjectiles.size(); i++) {
+            moveStraight(playerProjectiles, i);
+
+            // Remove projectile once it leaves the screen
+            if (playerProjectiles.y[i] < -100) {
+                removeEntity(playerProjectiles, i);
+            }
+        }
+
+        BulletEmitter.moveBullets(this);
+
+        for (int i = 0; i < enemies.size(); i++) {
+            moveAlongPath(enemies, i, now);
+        }
+
+        for (int i = 0; i < powerUps.size(); i++) {
+            moveAlongPath(powerUps, i, now);
+        }
+    }
+
+    private void moveStraight(EntityStore store, int i) {
+        store.previousX[i] = store.x[i];
+        store.previousY[i] = store.y[i];
+        store.y[i] += store.velocityY[i] * TICK_SECONDS;
+    }
+
+    /*
+    * Moves a zigzagging entity for the current time and removes it
+    * once it has reached the end of its path.
+    * */
+    private void moveAlongPath(EntityStore store, int i, long now) {
+        double progress = (double) (now - store.spawnTime[i]) / store.pathDuration[i];
+
+        if (progress >= 1) {
+            removeEntity(store, i);
+            return;
+        }
+
+        store.previousX[i] = store.x[i];
+        store.previousY[i] = store.y[i];
+        store.path[i].moveTo(progress, store, i);
+    }
+
+    /*
+    * Gradually increases difficulty by spawning enemies faster.
+    * */
+    private void updateDifficulty(long now) {
+        if (now - lastSpawnDifficultyIncrease >= 15000 && SPAWN_COOLDOWN > 1000) {
+            SPAWN_COOLDOWN -= 100;
+            lastSpawnDifficultyIncrease = now;
+        }
+    }
+
+    /*
+    * Moves the player while keeping all visible slices on-screen,
+    * including the pepper-shot slices.
+    * */
+    private void handlePlayerMovement() {
+        double dx = 0;
+        double speed = PLAYER_SPEED * TICK_SECONDS;
+
+        if (moveLeft) dx -= speed;
+        if (moveRight) dx += speed;
+
+        Hitbox hitbox = player;
+
+        // Determine the furthest visual extents due to the pepper-shot slices
+        double sideOffset = isPepperShotActive() ? PEPPER_OFFSET : 0;
+        double leftEdge = hitbox.x - sideOffset;
+        double rightEdge = hitbox.getMaxX() + sideOffset;
+
+        // Clamp movement to play field bounds
+        if (leftEdge + dx < 0) dx += -(leftEdge + dx);
+        if (rightEdge + dx > WIDTH) dx -= (rightEdge + dx - WIDTH);
+
+        hitbox.savePosition();
+        hitbox.x += dx;
+    }
+
+    /*
+    * Handles player firing, including multi-shot offsets.
+    * */
+    private void handlePlayerFiring(long now) {
+        if (!firing || now - timeSinceLastFired < FIRE_COOLDOWN) {
+            return;
+        }
+
+        double centerX = player.getCenterX();
+        double baseY = player.y;
+
+        // Fire center shot
+        fireProjectile(centerX, baseY);
+
+        // Fire additional shots if power-up is active
+        if (isPepperShotActive()) {
+            fireProjectile(centerX - PEPPER_OFFSET, baseY);
+            fireProjectile(centerX + PEPPER_OFFSET, baseY);
+        }
+
+        listener.playSound(SoundEffect.BLASTER);
+        timeSinceLastFired = now;
+    }
+
+    /*
+    * Fires a player projectile upward, centered on x and just above y.
+    * */
+    private void fireProjectile(double x, double y) {
+        EntityType type = EntityType.PLAYER_PROJECTILE;
+        int projectile = playerProjectiles.add(type, x - type.width / 2, y - 25);
+        playerProjectiles.velocityY[projectile] = -PLAYER_PROJECTILE_SPEED;
+        spawned(playerProjectiles, projectile);
+    }
+
+    /*
+    * Spawns enemies and lets active enemies fire.
+    * */
+    private void handleEnemySpawning(long now) {
+        if (now - timeSinceLastSpawned >= SPAWN_COOLDOWN) {
+            int enemy = spawnZigzag(EntityType.ENEMY, now, ENEMY_PATH_MILLIS, enemies);
+            BulletPattern pattern = pickBulletPattern();
+            enemies.pattern[enemy] = pattern;
+            enemies.timeSinceLastFired[enemy] = now - pattern.cooldownMillis;   // Fire as soon as it's on screen
+            timeSinceLastSpawned = now;
+        }
+
+        BulletEmitter.update(this, now);
+    }
+
+    /*
+    * Chooses what a new enemy fires. Every enemy fires single shots at
+    * first; as spawning speeds up, more of them fire fans, bursts and
+    * spirals instead.
+    * */
+    private BulletPattern pickBulletPattern() {
+        int difficulty = (int) ((1700 - SPAWN_COOLDOWN) / 100);    // 0 to 7
+
+        if (random.nextInt(10) >= difficulty) {
+            return BulletPattern.SINGLE;
+        }
+
+        return switch (random.nextInt(3)) {
+            case 0 -> BulletPattern.AIMED_FAN;
+            case 1 -> BulletPattern.RADIAL;
+            default -> BulletPattern.SPIRAL;
+        };
+    }
+
+    /*
+    * Randomly spawns one of several power-ups.
+    * */
+    private void handlePowerUpSpawning(long now) {
+        if (now - timeSincePowerUpLastSpawned >= POWER_UP_SPAWN_COOLDOWN) {
+            double roll = random.nextDouble();
+
+            if (roll < 0.10) {
+                spawnZigzag(EntityType.EXTRA_LIFE, now, POWER_UP_PATH_MILLIS, powerUps);
+            } else if (roll < 0.55) {
+                spawnZigzag(EntityType.PEPPER, now, POWER_UP_PATH_MILLIS, powerUps);
+            } else {
+                spawnZigzag(EntityType.SALT, now, POWER_UP_PATH_MILLIS, powerUps);
+            }
+            timeSincePowerUpLastSpawned = now;
+        }
+    }
+
+    /*
+    * Spawns an entity above the screen in one of two lanes, following a
+    * zigzag path. Enemies pick a random starting direction; power-ups
+    * always start to the right for consistent player expectations.
+    * Returns the entity's index in the store.
+    * */
+    int spawnZigzag(EntityType type, long now, long durationMillis, EntityStore store) {
+
+        // Random values used once to vary spawn position and movement direction
+        int randomValueForStartingX = random.nextInt(100);
+        int direction = 1;
+        if (type == EntityType.ENEMY) {
+            int randomValueForDirection = random.nextInt(100);
+            direction = (randomValueForDirection <= 50) ? 1 : -1;
+        }
+
+        // Choose one of two horizontal spawn lanes
+        int startingX = (randomValueForStartingX <= 50) ? 256 : 512;
+
+        if (type == EntityType.ENEMY) {
+            GameEvents.enemySpawned(startingX, direction);
+        }
+
+        int entity = store.add(type, 0, 0);
+        store.path[entity] = ZigzagPath.of(startingX, direction, type.width);
+        store.spawnTime[entity] = now;
+        store.pathDuration[entity] = durationMillis;
+
+        // Start on the first point of the path
+        store.path[entity].moveTo(0, store, entity);
+        store.previousX[entity] = store.x[entity];
+        store.previousY[entity] = store.y[entity];
+
+        spawned(store, entity);
+        return entity;
+    }
+
+    void spawned(EntityStore store, int index) {
+        listener.entitySpawned(store.type[index], store.handle(index));
+    }
+
+    /*
+    * Removes an entity from the world. It is only queued here and dropped
+    * from its store when the despawn queue is next drained, so indices
+    * stay valid while iterating.
+    * */
+    void removeEntity(EntityStore store, int index) {
+        store.kill(index);
+    }
+
+    /*
+    * Drains every store's despawn queue: tells the listener about each
+    * removed entity, then drops them all. Only touches removed entities.
+    * */
+    private void removeDeadEntities() {
+        for (EntityStore store : stores) {
+            int count = store.getDespawnCount();
+
+            for (int n = 0; n < count; n++) {
+                int i = store.getDespawnIndex(n);
+                listener.entityRemoved(store.type[i], store.handle(i));
+            }
+            store.removeDead();
+
+            despawnsLastTick += count;
+            despawnsTotal += count;
+        }
+    }
+
+    /*
+    * Salt power-up: temporarily increases fire rate.
+    * Collecting another while active restarts the timer.
+    * */
+    void activateSalt() {
+        FIRE_COOLDOWN = 250;
+        saltTimer = startOrRestart(saltTimer, POWER_UP_DURATION_TICKS, expireSalt);
+    }
+
+    /*
+    * Pepper power-up: temporarily adds extra slices that also shoot.
+    * Collecting another while active restarts the timer.
+    * */
+    void activatePepper() {
+        if (!isPepperShotActive()) {
+            listener.pepperShotChanged(true);
+        }
+        pepperTimer = startOrRestart(pepperTimer, POWER_UP_DURATION_TICKS, expirePepper);
+    }
+
+    /*
+    * Restarts a pending timer in place, or schedules a new one if it has
+    * already fired, so a timer can never be running twice.
+    * */
+    private int startOrRestart(int timer, long delayTicks, Runnable action) {
+        if (timers.reschedule(timer, delayTicks)) {
+            return timer;
+        }
+        return timers.schedule(delayTicks, action);
+    }
+
+    private void disableSalt() {
+        timers.cancel(saltTimer);
+        saltTimer = TimingWheel.NO_TIMER;
+        FIRE_COOLDOWN = 750;
+    }
+
+    private void disablePepperShot() {
+        if (isPepperShotActive()) {
+            timers.cancel(pepperTimer);
+            pepperTimer = TimingWheel.NO_TIMER;
+            listener.pepperShotChanged(false);
+        }
+    }
+
+    /*
+    * Game over: blow up the player and stop gameplay.
+    * Entities already on screen keep moving behind the continue screen.
+    * */
+    void endGame() {
+        listener.explosion(player.getCenterX(), player.getCenterY());
+        listener.playSound(SoundEffect.GAME_OVER);
+        disablePepperShot();
+
+        running = false;
+        GameEvents.gameOver(state.score);
+        listener.gameOver();
+    }
+
+    /*
+    * Resets game state after game over.
+    * */
+    public void reset() {
+        GameEvents.ResetEvent event = new GameEvents.ResetEvent();
+        event.begin();
+
+        state.life = 3;
+        state.score = 0;
+        SPAWN_COOLDOWN = 1700;
+        lastSpawnDifficultyIncrease = getSimulationMillis();
+        disableSalt();
+        disablePepperShot();
+
+        // Remove every gameplay entity
+        int removed = 0;
+        for (EntityStore store : stores) {
+            removed += store.size();
+
+            for (int i = 0; i < store.size(); i++) {
+                removeEntity(store, i);
+            }
+        }
+        removeDeadEntities();
+
+        player.place(PLAYER_START_X, PLAYER_START_Y, EntityType.PLAYER.width, EntityType.PLAYER.height);
+        running = true;
+
+        event.entitiesRemoved = removed;
+        event.commit();
+    }
+
+    /*
+    * Upper bound on the bytes save() will write for the current state.
+    * */
+    public int snapshotSize() {
+        int size = SNAPSHOT_HEADER_BYTES;
+
+        for (EntityStore store : stores) {
+            size += 4 + store.size() * SNAPSHOT_ENTITY_BYTES;
+        }
+        return size;
+    }
+
+    /*
+    * Writes the complete simulation state into the buffer at its current
+    * position. Allocates nothing, so it can run every few ticks.
+    * Entities already removed this tick are skipped.
+    * */
+    public void save(ByteBuffer out) {
+        out.putInt(SNAPSHOT_MAGIC);
+        out.put((byte) SNAPSHOT_VERSION);
+
+        out.putLong(simulationNanos);
+        out.putLong(random.getState());
+        out.put((byte) ((started ? 1 : 0) | (running ? 2 : 0)));
+        out.put((byte) getInputMask());
+
+        out.putLong(timeSinceLastFired);
+        out.putLong(timeSinceLastSpawned);
+        out.putLong(timeSincePowerUpLastSpawned);
+        out.putLong(lastSpawnDifficultyIncrease);
+        out.putLong(FIRE_COOLDOWN);
+        out.putLong(SPAWN_COOLDOWN);
+        out.putLong(Math.max(0, timers.remainingTicks(saltTimer)));
+        out.putLong(Math.max(0, timers.remainingTicks(pepperTimer)));
+
+        out.putInt(state.life);
+        out.putInt(state.score);
+        out.putInt(state.highScore);
+        out.putLong(state.timeSinceLastTookDamage);
+
+        out.putDouble(player.x);
+        out.putDouble(player.y);
+        out.putDouble(player.previousX);
+        out.putDouble(player.previousY);
+
+        for (EntityStore store : stores) {
+            int liveCount = 0;
+            for (int i = 0; i < store.size(); i++) {
+                if (!store.isDead(i)) {
+                    liveCount++;
+                }
+            }
+            out.putInt(liveCount);
+
+            for (int i = 0; i < store.size(); i++) {
+                if (store.isDead(i)) {
+                    continue;
+                }
+
+                ZigzagPath path = store.path[i];
+                out.put((byte) store.type[i].ordinal());
+                out.putDouble(store.x[i]);
+                out.putDouble(store.y[i]);
+                out.putDouble(store.previousX[i]);
+                out.putDouble(store.previousY[i]);
+                out.putDouble(store.velocityX[i]);
+                out.putDouble(store.velocityY[i]);
+                out.putLong(store.spawnTime[i]);
+                out.putLong(store.pathDuration[i]);
+                out.putLong(store.timeSinceLastFired[i]);
+                out.put((byte) ((store.pattern[i] != null) ? store.pattern[i].ordinal() + 1 : 0));
+                out.putDouble(store.emitterAngle[i]);
+                out.putShort((short) ((path != null) ? path.getStartingX() : -1));
+                out.put((byte) ((path != null) ? path.getDirection() : 0));
+            }
+        }
+    }
+
+    /*
+    * Replaces the simulation state with one written by save(). The
+    * listener sees every current entity removed and every restored
+    * entity spawned, so views rebuild themselves.
+    * Throws IllegalArgumentException, leaving the state untouched, if the
+    * buffer isn't a complete snapshot of this version.
+    * */
+    public void restore(ByteBuffer in) {
+        checkSnapshot(in);
+        in.position(in.position() + 5);
+
+        // Clear out the current entities
+        for (EntityStore store : stores) {
+            for (int i = 0; i < store.size(); i++) {
+                removeEntity(store, i);
+            }
+        }
+        removeDeadEntities();
+
+        boolean pepperWasActive = isPepperShotActive();
+
+        simulationNanos = in.getLong();
+        random.setState(in.getLong());
+        int flags = in.get();
+        started = (flags & 1) != 0;
+        running = (flags & 2) != 0;
+        setInputMask(in.get());
+
+        timeSinceLastFired = in.getLong();
+        timeSinceLastSpawned = in.getLong();
+        timeSincePowerUpLastSpawned = in.getLong();
+        lastSpawnDifficultyIncrease = in.getLong();
+        FIRE_COOLDOWN = in.getLong();
+        SPAWN_COOLDOWN = in.getLong();
+        restoreTimers(in.getLong(), in.getLong());
+
+        state.life = in.getInt();
+        state.score = in.getInt();
+        state.highScore = in.getInt();
+        state.timeSinceLastTookDamage = in.getLong();
+
+        player.x = in.getDouble();
+        player.y = in.getDouble();
+        player.previousX = in.getDouble();
+        player.previousY = in.getDouble();
+
+        EntityType[] types = EntityType.values();
+        BulletPattern[] patterns = BulletPattern.values();
+        for (EntityStore store : stores) {
+            int count = in.getInt();
+
+            for (int n = 0; n < count; n++) {
+                EntityType type = types[in.get()];
+                int i = store.add(type, 0, 0);
+
+                store.x[i] = in.getDouble();
+                store.y[i] = in.getDouble();
+                store.previousX[i] = in.getDouble();
+                store.previousY[i] = in.getDouble();
+                store.velocityX[i] = in.getDouble();
+                store.velocityY[i] = in.getDouble();
+                store.spawnTime[i] = in.getLong();
+                store.pathDuration[i] = in.getLong();
+                store.timeSinceLastFired[i] = in.getLong();
+                int pattern = in.get();
+                store.pattern[i] = (pattern > 0) ? patterns[pattern - 1] : null;
+                store.emitterAngle[i] = in.getDouble();
+
+                int startingX = in.getShort();
+                int direction = in.get();
+                if (startingX >= 0) {
+                    store.path[i] = ZigzagPath.of(startingX, direction, type.width);
+                }
+                spawned(store, i);
+            }
+        }
+
+        if (isPepperShotActive() != pepperWasActive) {
+            listener.pepperShotChanged(isPepperShotActive());
+        }
+    }
+
+    /*
+    * Walks a snapshot without reading it into the world, so a wrong
+    * version, a truncated file or an out-of-range type is reported before
+    * any state has been replaced.
+    * */
+    private void checkSnapshot(ByteBuffer in) {
+        int start = in.position();
+
+        if (in.remaining() < SNAPSHOT_FIXED_BYTES
+                || in.getInt(start) != SNAPSHOT_MAGIC || in.get(start + 4) != SNAPSHOT_VERSION) {
+            throw new IllegalArgumentException("Not a version " + SNAPSHOT_VERSION + " world snapshot");
+        }
+
+        int position = start + SNAPSHOT_FIXED_BYTES;
+        for (int store = 0; store < stores.length; store++) {
+            if (in.limit() - position < 4) {
+                throw new IllegalArgumentException("World snapshot is truncated");
+            }
+
+            int count = in.getInt(position);
+            position += 4;
+            if (count < 0 || (long) count * SNAPSHOT_ENTITY_EXACT_BYTES > in.limit() - position) {
+                throw new IllegalArgumentException("World snapshot is truncated");
+            }
+
+            for (int n = 0; n < count; n++) {
+                int type = in.get(position);
+                int pattern = in.get(position + SNAPSHOT_PATTERN_OFFSET);
+
+                if (type < 0 || type >= EntityType.values().length || pattern < 0 || pattern > BulletPattern.values().length) {
+                    throw new IllegalArgumentException("World snapshot has an unknown entity type or pattern");
+                }
+                position += SNAPSHOT_ENTITY_EXACT_BYTES;
+            }
+        }
+    }
+
+    /*
+    * Replaces the power-up timers with ones due after the given number of
+    * ticks (0 for inactive). Only the pepper listener call is left to the
+    * caller, which compares against the state before the restore.
+    * */
+    private void restoreTimers(long saltTicks, long pepperTicks) {
+        timers.clear();
+        saltTimer = (saltTicks > 0) ? timers.schedule(saltTicks, expireSalt) : TimingWheel.NO_TIMER;
+        pepperTimer = (pepperTicks > 0) ? timers.schedule(pepperTicks, expirePepper) : TimingWheel.NO_TIMER;
+    }
+
+    // Used by CollisionManager and the view to report game events
+    WorldListener getListener() {
+        return listener;
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    public Hitbox getPlayer() {
+        return player;
+    }
+
+    public EntityStore getEnemies() {
+        return enemies;
+    }
+
+    public EntityStore getEnemyProjectiles() {
+        return enemyProjectiles;
+    }
+
+    public EntityStore getPlayerProjectiles() {
+        return playerProjectiles;
+    }
+
+    public EntityStore getPowerUps() {
+        return powerUps;
+    }
+
+    /*
+    * Every entity store, indexed by store id.
+    * */
+    public EntityStore[] getStores() {
+        return stores;
+    }
+
+    public boolean isStarted() {
+        return started;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean isPepperShotActive() {
+        return pepperTimer != TimingWheel.NO_TIMER;
+    }
+
+    public int getDespawnsLastTick() {
+        return despawnsLastTick;
+    }
+
+    public long getDespawnsTotal() {
+        return despawnsTotal;
+    }
+
+    public long getSimulationMillis() {
+        return simulationNanos / 1_000_000;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /*
+    * Hash of the simulation state: time, score, lives, the random
+    * generator and every entity position. Two worlds with the same
+    * checksum are, for all practical purposes, in the same state.
+    * */
+    public long checksum() {
+        long hash = simulationNanos;
+        hash = hash * 31 + random.getState();
+        hash = hash * 31 + state.score;
+        hash = hash * 31 + state.highScore;
+        hash = hash * 31 + state.life;
+        hash = hash * 31 + Double.doubleToLongBits(player.x);
+
+        for (EntityStore store : stores) {
+            hash = hash * 31 + store.size();
+
+            for (int i = 0; i < store.size(); i++) {
+                hash = hash * 31 + Double.doubleToLongBits(store.x[i]);
+                hash = hash * 31 + Double.doubleToLongBits(store.y[i]);
+            }
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,29 @@
+
+/*
+* WorldListener
+* Receives everything the simulation wants shown or heard. The JavaFX
+* GameManager implements it to keep sprites, sounds and effects in sync;
+* a headless run can ignore any of these.
+* */
+public interface WorldListener {
+
+    // An enemy, projectile or power-up has entered the world
+    default void entitySpawned(EntityType type, int handle) {}
+
+    // An entity has left the world (off-screen, destroyed or collected)
+    default void entityRemoved(EntityType type, int handle) {}
+
+    // An explosion effect should be shown centered on the given point
+    default void explosion(double centerX, double centerY) {}
+
+    default void playSound(SoundEffect effect) {}
+
+    // The player was hit or collected a power-up
+    default void playerFlashed() {}
+
+    // The pepper power-up's extra slices appeared or disappeared
+    default void pepperShotChanged(boolean active) {}
+
+    // The player ran out of lives
+    default void gameOver() {}
+}
@@ -0,0 +1,147 @@
+
+/*
+* ZigzagPath
+* Zigzag route taken by enemies and power-ups from above the screen to the
+* bottom. Entities move along it at constant speed along its length, eased
+* in and out the same way JavaFX's PathTransition does by default.
+* There are only two lanes and two starting directions, so every path is
+* built once up front and shared by all entities; spawning allocates no
+* geometry. Each path also keeps a table from distance to segment, so
+* finding an entity's segment takes at most a step or two per tick.
+* */
+public class ZigzagPath {
+
+    // Horizontal distance from the lane to each zigzag peak
+    private static final double AMPLITUDE = 250;
+
+    // Vertical positions of each zigzag vertex, from above the screen to the bottom
+    private static final double[] PATH_Y = {-100, 128, 256, 384, 512, 640, 768, 896, 1024};
+
+    // Horizontal direction of each vertex relative to the lane (+1 right, -1 left)
+    private static final int[] PATH_SIDE = {0, 1, 0, -1, 0, 1, 0, -1, 0};
+
+    // Buckets in each path's distance-to-segment table
+    private static final int SEGMENT_BUCKETS = 64;
+
+    // Every path in use: both spawn lanes in both directions, for the
+    // size shared by enemies and power-ups
+    private static final double[] LANES = {256, 512};
+    private static final double ENTITY_WIDTH = 75;
+    private static final ZigzagPath[] PATHS = {
+            new ZigzagPath(LANES[0], 1, ENTITY_WIDTH),
+            new ZigzagPath(LANES[0], -1, ENTITY_WIDTH),
+            new ZigzagPath(LANES[1], 1, ENTITY_WIDTH),
+            new ZigzagPath(LANES[1], -1, ENTITY_WIDTH)
+    };
+
+    // Inputs the path was built from, kept so snapshots can rebuild it
+    private final double startingX;
+    private final int direction;
+    private final double width;
+
+    private final double[] pathX = new double[PATH_Y.length];
+    private final double[] pathDistance = new double[PATH_Y.length];  // Cumulative length at each vertex
+    private final double bucketLength;
+    private final int[] segmentOfBucket = new int[SEGMENT_BUCKETS + 1];    // First segment reaching each bucket's start
+
+    /*
+    * Shared path for a lane. A direction of +1 starts the zigzag to the
+    * right, -1 to the left. 'width' keeps the entity from leaving the screen.
+    * */
+    public static ZigzagPath of(double startingX, int direction, double width) {
+        for (ZigzagPath path : PATHS) {
+            if (path.startingX == startingX && path.direction == direction && path.width == width) {
+                return path;
+            }
+        }
+
+        // Not one of the spawn lanes (e.g. a snapshot from a different layout)
+        return new ZigzagPath(startingX, direction, width);
+    }
+
+    private ZigzagPath(double startingX, int direction, double width) {
+        this.startingX = startingX;
+        this.direction = direction;
+        this.width = width;
+
+        // Horizontal movement limits (prevents leaving screen)
+        double minX = 0;
+        double maxX = World.WIDTH - width;
+
+        for (int i = 0; i < PATH_Y.length; i++) {
+            pathX[i] = clamp(startingX + PATH_SIDE[i] * direction * AMPLITUDE, minX, maxX);
+
+            if (i > 0) {
+                pathDistance[i] = pathDistance[i - 1] + Math.hypot(pathX[i] - pathX[i - 1], PATH_Y[i] - PATH_Y[i - 1]);
+            }
+        }
+
+        bucketLength = pathDistance[pathDistance.length - 1] / SEGMENT_BUCKETS;
+
+        int segment = 1;
+        for (int bucket = 0; bucket <= SEGMENT_BUCKETS; bucket++) {
+            while (segment < pathDistance.length - 1 && pathDistance[segment] < bucket * bucketLength) {
+                segment++;
+            }
+            segmentOfBucket[bucket] = segment;
+        }
+    }
+
+    /*
+    * Moves an entity so its center sits on the path at the given
+    * progress (0 at the start, 1 at the end).
+    * */
+    public void moveTo(double progress, EntityStore store, int index) {
+
+        // Convert eased progress into a distance along the path
+        double distance = easeBoth(Math.max(0, Math.min(1, progress))) * pathDistance[pathDistance.length - 1];
+
+        // Start one segment early in case rounding put the distance just below its bucket
+        int bucket = (int) (distance / bucketLength);
+        int segment = Math.max(1, segmentOfBucket[Math.min(bucket, SEGMENT_BUCKETS)] - 1);
+        while (segment < pathDistance.length - 1 && pathDistance[segment] < distance) {
+            segment++;
+        }
+
+        double segmentLength = pathDistance[segment] - pathDistance[segment - 1];
+        double t = (segmentLength > 0) ? (distance - pathDistance[segment - 1]) / segmentLength : 0;
+        double centerX = pathX[segment - 1] + (pathX[segment] - pathX[segment - 1]) * t;
+        double centerY = PATH_Y[segment - 1] + (PATH_Y[segment] - PATH_Y[segment - 1]) * t;
+
+        store.x[index] = centerX - store.width[index] / 2;
+        store.y[index] = centerY - store.height[index] / 2;
+    }
+
+    public double getStartingX() {
+        return startingX;
+    }
+
+    public int getDirection() {
+        return direction;
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    /*
+    * Accelerates over the first 20% and decelerates over the last 20%,
+    * matching javafx.animation.Interpolator.EASE_BOTH.
+    * */
+    private static double easeBoth(double t) {
+        if (t < 0.2) {
+            return 3.125 * t * t;
+        }
+        if (t > 0.8) {
+            return -3.125 * t * t + 6.25 * t - 2.125;
+        }
+        return 1.25 * t - 0.125;
+    }
+
+    /*
+    * Ensures a value stays within screen bounds.
+    * */
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}